@@ -1,22 +1,48 @@
 package ru.practicum.shareit.client;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 import ru.practicum.shareit.common.HeaderConstants;
 
 import java.util.Map;
+import java.util.Set;
 
 public abstract class BaseClient {
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            HttpHeaders.CONNECTION.toLowerCase(),
+            "keep-alive",
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+            HttpHeaders.TE.toLowerCase(),
+            HttpHeaders.TRAILER.toLowerCase(),
+            HttpHeaders.UPGRADE.toLowerCase(),
+            HttpHeaders.PROXY_AUTHENTICATE.toLowerCase(),
+            HttpHeaders.PROXY_AUTHORIZATION.toLowerCase()
+    );
+
     private final ObjectMapper mapper = new ObjectMapper();
     protected RestTemplate rest;
+    private boolean passthrough;
+    private GatewayResponseCache responseCache;
 
     public BaseClient(RestTemplate rest) {
         this.rest = rest;
     }
 
+    @Value("${shareit.gateway.passthrough:false}")
+    public void setPassthrough(boolean passthrough) {
+        this.passthrough = passthrough;
+    }
+
+    @Autowired(required = false)
+    public void setResponseCache(GatewayResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
     protected ResponseEntity<Object> get(String path, Map<String, Object> parameters) {
         return makeAndSendRequest(HttpMethod.GET, path, parameters, null);
     }
@@ -70,6 +96,10 @@ public abstract class BaseClient {
             headers.set(HeaderConstants.X_SHARER_USER_ID, userId.toString());
         }
 
+        if (passthrough) {
+            return passThrough(method, path, parameters, body, headers, userId);
+        }
+
         HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
 
         try {
@@ -93,20 +123,80 @@ public abstract class BaseClient {
                 }
             }
             return ResponseEntity.status(ex.getStatusCode()).body(bodyObj);
-        } catch (ResourceAccessException ex) {
-            Map<String, Object> err = Map.of(
-                    "status", HttpStatus.INTERNAL_SERVER_ERROR.value(),
-                    "error", "Internal Server Error",
-                    "message", ex.getMessage()
-            );
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(err);
         } catch (Exception ex) {
-            Map<String, Object> err = Map.of(
-                    "status", HttpStatus.INTERNAL_SERVER_ERROR.value(),
-                    "error", "Internal Server Error",
-                    "message", ex.getMessage()
-            );
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(err);
+            return internalError(ex);
+        }
+    }
+
+    private ResponseEntity<Object> passThrough(HttpMethod method, String path, Map<String, Object> parameters,
+                                               Object body, HttpHeaders headers, Long userId) {
+        String cacheKey = responseCache != null && method == HttpMethod.GET
+                ? GatewayResponseCache.key(path, parameters, userId)
+                : null;
+        GatewayResponseCache.Entry cached = cacheKey != null ? responseCache.get(cacheKey) : null;
+        if (cached != null) {
+            headers.setIfNoneMatch(cached.etag());
+        }
+        HttpEntity<Object> requestEntity = new HttpEntity<>(body, headers);
+
+        try {
+            ResponseEntity<byte[]> upstream;
+            if (parameters != null) {
+                upstream = rest.exchange(path, method, requestEntity, byte[].class, parameters);
+            } else {
+                upstream = rest.exchange(path, method, requestEntity, byte[].class);
+            }
+            if (cached != null && upstream.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                return ResponseEntity.ok().headers(cached.headers()).body(cached.body());
+            }
+            HttpHeaders responseHeaders = endToEndHeaders(upstream.getHeaders());
+            if (cacheKey != null) {
+                cacheResponse(cacheKey, upstream, responseHeaders);
+            }
+            return ResponseEntity.status(upstream.getStatusCode())
+                    .headers(responseHeaders)
+                    .body(upstream.getBody());
+        } catch (HttpStatusCodeException ex) {
+            byte[] respBody = ex.getResponseBodyAsByteArray();
+            if (respBody.length == 0) {
+                return ResponseEntity.status(ex.getStatusCode())
+                        .body(Map.of("error", "Empty response from upstream server"));
+            }
+            return ResponseEntity.status(ex.getStatusCode())
+                    .headers(endToEndHeaders(ex.getResponseHeaders()))
+                    .body(respBody);
+        } catch (Exception ex) {
+            return internalError(ex);
+        }
+    }
+
+    private void cacheResponse(String cacheKey, ResponseEntity<byte[]> upstream, HttpHeaders responseHeaders) {
+        String etag = upstream.getHeaders().getETag();
+        if (upstream.getStatusCode().isSameCodeAs(HttpStatus.OK) && etag != null && upstream.getBody() != null) {
+            responseCache.put(cacheKey, new GatewayResponseCache.Entry(etag, responseHeaders, upstream.getBody()));
+        } else {
+            responseCache.evict(cacheKey);
+        }
+    }
+
+    private HttpHeaders endToEndHeaders(HttpHeaders upstream) {
+        HttpHeaders headers = new HttpHeaders();
+        if (upstream != null) {
+            upstream.forEach((name, values) -> {
+                if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase())) {
+                    headers.addAll(name, values);
+                }
+            });
         }
+        return headers;
+    }
+
+    private ResponseEntity<Object> internalError(Exception ex) {
+        Map<String, Object> err = Map.of(
+                "status", HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                "error", "Internal Server Error",
+                "message", String.valueOf(ex.getMessage())
+        );
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(err);
     }
-}
\ No newline at end of file
+}
@@ -4,8 +4,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
+import ru.practicum.shareit.dto.BookingDecisionDto;
 import ru.practicum.shareit.dto.BookingDto;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Service
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
@@ -27,6 +31,10 @@ public class BookingClient extends BaseClient {
         return patch(path, null, userId);
     }
 
+    public ResponseEntity<Object> updateBookings(Long userId, List<BookingDecisionDto> decisions) {
+        return patch(API_PREFIX, decisions, userId);
+    }
+
     public ResponseEntity<Object> getBooking(Long userId, Long bookingId) {
         String path = UriComponentsBuilder.fromPath(API_PREFIX)
                 .path("/{bookingId}")
@@ -53,4 +61,25 @@ public class BookingClient extends BaseClient {
                 .toUriString();
         return get(path, null, userId);
     }
+
+    public ResponseEntity<Object> getUserBookings(Long userId, String state, LocalDateTime afterStart, Long afterId, int size) {
+        String path = UriComponentsBuilder.fromPath(API_PREFIX)
+                .queryParam("state", state)
+                .queryParam("afterStart", afterStart)
+                .queryParam("afterId", afterId)
+                .queryParam("size", size)
+                .toUriString();
+        return get(path, null, userId);
+    }
+
+    public ResponseEntity<Object> getOwnerBookings(Long userId, String state, LocalDateTime afterStart, Long afterId, int size) {
+        String path = UriComponentsBuilder.fromPath(API_PREFIX)
+                .path("/owner")
+                .queryParam("state", state)
+                .queryParam("afterStart", afterStart)
+                .queryParam("afterId", afterId)
+                .queryParam("size", size)
+                .toUriString();
+        return get(path, null, userId);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Component
+public class GatewayResponseCache {
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+
+    public GatewayResponseCache(@Value("${shareit.gateway.cache.max-entries:1000}") int maxEntries,
+                                @Value("${shareit.gateway.cache.max-bytes:16MB}") DataSize maxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes.toBytes();
+    }
+
+    public static String key(String path, Map<String, Object> parameters, Long userId) {
+        StringBuilder key = new StringBuilder(path);
+        if (parameters != null && !parameters.isEmpty()) {
+            key.append('|').append(new TreeMap<>(parameters));
+        }
+        return key.append('#').append(userId).toString();
+    }
+
+    public synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(String key, Entry entry) {
+        if (entry.body().length > maxBytes) {
+            evict(key);
+            return;
+        }
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            bytes -= previous.body().length;
+        }
+        bytes += entry.body().length;
+        Iterator<Entry> eldest = entries.values().iterator();
+        while ((entries.size() > maxEntries || bytes > maxBytes) && eldest.hasNext()) {
+            bytes -= eldest.next().body().length;
+            eldest.remove();
+        }
+    }
+
+    public synchronized void evict(String key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            bytes -= removed.body().length;
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    public record Entry(String etag, HttpHeaders headers, byte[] body) {
+    }
+}
@@ -7,6 +7,9 @@ import org.springframework.web.util.UriComponentsBuilder;
 import ru.practicum.shareit.dto.CommentDto;
 import ru.practicum.shareit.dto.ItemDto;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Service
 public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
@@ -19,6 +22,10 @@ public class ItemClient extends BaseClient {
         return post(API_PREFIX, itemDto, userId);
     }
 
+    public ResponseEntity<Object> createItems(Long userId, List<ItemDto> items) {
+        return post(API_PREFIX + "/batch", items, userId);
+    }
+
     public ResponseEntity<Object> updateItem(Long userId, Long itemId, ItemDto itemDto) {
         String path = UriComponentsBuilder.fromPath(API_PREFIX)
                 .path("/{itemId}")
@@ -57,6 +64,15 @@ public class ItemClient extends BaseClient {
         return delete(path, userId);
     }
 
+    public ResponseEntity<Object> getComments(Long userId, Long itemId, LocalDateTime before, Long beforeId, int size) {
+        UriComponentsBuilder builder = UriComponentsBuilder.fromPath(API_PREFIX)
+                .path("/{itemId}/comments")
+                .queryParam("size", size);
+        if (before != null) builder.queryParam("before", before);
+        if (beforeId != null) builder.queryParam("beforeId", beforeId);
+        return get(builder.buildAndExpand(itemId).toUriString(), null, userId);
+    }
+
     public ResponseEntity<Object> createComment(Long userId, Long itemId, CommentDto comment) {
         String path = UriComponentsBuilder.fromPath(API_PREFIX)
                 .path("/{itemId}/comment")
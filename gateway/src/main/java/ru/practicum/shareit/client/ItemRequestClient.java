@@ -22,6 +22,14 @@ public class ItemRequestClient extends BaseClient {
         return get(API_PREFIX, null, userId);
     }
 
+    public ResponseEntity<Object> getUserRequests(Long userId, int from, int size) {
+        String path = UriComponentsBuilder.fromPath(API_PREFIX)
+                .queryParam("from", from)
+                .queryParam("size", size)
+                .toUriString();
+        return get(path, null, userId);
+    }
+
     public ResponseEntity<Object> getAllRequests(Long userId, int from, int size) {
         String path = UriComponentsBuilder.fromPath(API_PREFIX)
                 .path("/all")
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "shareit.server")
+public class ServerClientProperties {
+    private String url;
+    private int maxTotalConnections = 200;
+    private int maxConnectionsPerRoute = 100;
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration readTimeout = Duration.ofSeconds(10);
+    private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+    private Duration idleEviction = Duration.ofSeconds(30);
+    private Duration connectionTtl = Duration.ofMinutes(5);
+    private Duration keepAlive = Duration.ofSeconds(30);
+}
@@ -1,15 +1,22 @@
 package ru.practicum.shareit.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.client.BookingClient;
 import ru.practicum.shareit.common.HeaderConstants;
+import ru.practicum.shareit.dto.BookingDecisionDto;
 import ru.practicum.shareit.dto.BookingDto;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @RestController
 @RequestMapping("/bookings")
 @Validated
@@ -33,6 +40,14 @@ public class BookingController {
         return bookingClient.updateBooking(userId, bookingId, approved);
     }
 
+    @PatchMapping
+    public ResponseEntity<Object> updateBookings(@RequestHeader(HeaderConstants.X_SHARER_USER_ID) Long userId,
+                                                 @RequestBody @NotEmpty(message = "decisions must be provided")
+                                                 @Size(max = 100, message = "at most 100 decisions per request")
+                                                 List<@Valid BookingDecisionDto> decisions) {
+        return bookingClient.updateBookings(userId, decisions);
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> getBooking(@RequestHeader(HeaderConstants.X_SHARER_USER_ID) Long userId,
                                              @PathVariable Long bookingId) {
@@ -43,15 +58,27 @@ public class BookingController {
     public ResponseEntity<Object> getUserBookings(@RequestHeader(HeaderConstants.X_SHARER_USER_ID) Long userId,
                                                   @RequestParam(defaultValue = "ALL") String state,
                                                   @RequestParam(defaultValue = "0") @PositiveOrZero int from,
-                                                  @RequestParam(defaultValue = "10") @Positive int size) {
-        return bookingClient.getUserBookings(userId, state, from, size);
+                                                  @RequestParam(defaultValue = "10") @Positive int size,
+                                                  @RequestParam(required = false)
+                                                  @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterStart,
+                                                  @RequestParam(required = false) Long afterId) {
+        if (afterStart == null && afterId == null) {
+            return bookingClient.getUserBookings(userId, state, from, size);
+        }
+        return bookingClient.getUserBookings(userId, state, afterStart, afterId, size);
     }
 
     @GetMapping("/owner")
     public ResponseEntity<Object> getOwnerBookings(@RequestHeader(HeaderConstants.X_SHARER_USER_ID) Long userId,
                                                    @RequestParam(defaultValue = "ALL") String state,
                                                    @RequestParam(defaultValue = "0") @PositiveOrZero int from,
-                                                   @RequestParam(defaultValue = "10") @Positive int size) {
-        return bookingClient.getOwnerBookings(userId, state, from, size);
+                                                   @RequestParam(defaultValue = "10") @Positive int size,
+                                                   @RequestParam(required = false)
+                                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterStart,
+                                                   @RequestParam(required = false) Long afterId) {
+        if (afterStart == null && afterId == null) {
+            return bookingClient.getOwnerBookings(userId, state, from, size);
+        }
+        return bookingClient.getOwnerBookings(userId, state, afterStart, afterId, size);
     }
 }
\ No newline at end of file
@@ -1,6 +1,10 @@
 package ru.practicum.shareit.controller;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -9,6 +13,9 @@ import ru.practicum.shareit.common.HeaderConstants;
 import ru.practicum.shareit.dto.CommentDto;
 import ru.practicum.shareit.dto.ItemDto;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @RestController
 @RequestMapping("/items")
 @Validated
@@ -25,6 +32,14 @@ public class ItemController {
         return itemClient.createItem(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> createItems(@RequestHeader(HeaderConstants.X_SHARER_USER_ID) Long userId,
+                                              @RequestBody @NotEmpty(message = "items must be provided")
+                                              @Size(max = 5000, message = "at most 5000 items per request")
+                                              List<@Valid ItemDto> items) {
+        return itemClient.createItems(userId, items);
+    }
+
     @PatchMapping("/{itemId}")
     public ResponseEntity<Object> updateItem(@RequestHeader(HeaderConstants.X_SHARER_USER_ID) Long userId,
                                              @PathVariable Long itemId,
@@ -38,6 +53,16 @@ public class ItemController {
         return itemClient.getItem(userId, itemId);
     }
 
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<Object> getComments(@RequestHeader(HeaderConstants.X_SHARER_USER_ID) Long userId,
+                                              @PathVariable Long itemId,
+                                              @RequestParam(required = false)
+                                              @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+                                              @RequestParam(required = false) Long beforeId,
+                                              @RequestParam(defaultValue = "10") @Positive int size) {
+        return itemClient.getComments(userId, itemId, before, beforeId, size);
+    }
+
     @GetMapping
     public ResponseEntity<Object> getUserItems(@RequestHeader(HeaderConstants.X_SHARER_USER_ID) Long userId) {
         return itemClient.getUserItems(userId);
@@ -27,8 +27,13 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserRequests(@RequestHeader(HeaderConstants.X_SHARER_USER_ID) Long userId) {
-        return requestClient.getUserRequests(userId);
+    public ResponseEntity<Object> getUserRequests(@RequestHeader(HeaderConstants.X_SHARER_USER_ID) Long userId,
+                                                  @RequestParam(required = false) @PositiveOrZero Integer from,
+                                                  @RequestParam(required = false) @Positive Integer size) {
+        if (from == null && size == null) {
+            return requestClient.getUserRequests(userId);
+        }
+        return requestClient.getUserRequests(userId, from == null ? 0 : from, size == null ? 10 : size);
     }
 
     @GetMapping("/all")
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingDecisionDto {
+    @NotNull(message = "bookingId must be provided")
+    private Long bookingId;
+
+    @NotNull(message = "approved must be provided")
+    private Boolean approved;
+}
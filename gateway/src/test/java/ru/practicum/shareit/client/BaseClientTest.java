@@ -8,6 +8,7 @@ import org.springframework.http.*;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.util.unit.DataSize;
 import ru.practicum.shareit.common.HeaderConstants;
 
 import java.nio.charset.StandardCharsets;
@@ -156,6 +157,156 @@ class BaseClientTest {
         assertThat(map.get("message")).asString().contains("boom");
     }
 
+    @Test
+    void passthrough_copiesUpstreamBytesAndEndToEndHeaders() {
+        client.setPassthrough(true);
+        byte[] payload = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        HttpHeaders upstreamHeaders = new HttpHeaders();
+        upstreamHeaders.setContentType(MediaType.APPLICATION_JSON);
+        upstreamHeaders.setETag("\"v1\"");
+        upstreamHeaders.set(HttpHeaders.TRANSFER_ENCODING, "chunked");
+        upstreamHeaders.set(HttpHeaders.CONNECTION, "keep-alive");
+        when(rest.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(byte[].class)))
+                .thenReturn(new ResponseEntity<>(payload, upstreamHeaders, HttpStatus.OK));
+
+        ResponseEntity<Object> resp = client.doPost("/p", Map.of("a", 1));
+
+        verify(rest, never()).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(Object.class));
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(resp.getBody()).isSameAs(payload);
+        assertThat(resp.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(resp.getHeaders().getETag()).isEqualTo("\"v1\"");
+        assertThat(resp.getHeaders().containsKey(HttpHeaders.TRANSFER_ENCODING)).isFalse();
+        assertThat(resp.getHeaders().containsKey(HttpHeaders.CONNECTION)).isFalse();
+    }
+
+    @Test
+    void passthrough_withParameters_usesUriVariables() {
+        client.setPassthrough(true);
+        when(rest.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(byte[].class), anyMap()))
+                .thenReturn(ResponseEntity.ok(new byte[0]));
+
+        client.doGet("/g/{x}", Map.of("x", 5), 1L);
+
+        verify(rest).exchange(eq("/g/{x}"), eq(HttpMethod.GET), any(HttpEntity.class), eq(byte[].class), eq(Map.of("x", 5)));
+    }
+
+    @Test
+    void passthrough_errorBody_isReturnedWithoutParsing() {
+        client.setPassthrough(true);
+        byte[] payload = "{\"error\":\"boom\"}".getBytes(StandardCharsets.UTF_8);
+        HttpHeaders upstreamHeaders = new HttpHeaders();
+        upstreamHeaders.setContentType(MediaType.APPLICATION_JSON);
+        HttpClientErrorException ex = HttpClientErrorException.create(
+                HttpStatus.CONFLICT, "Conflict", upstreamHeaders, payload, StandardCharsets.UTF_8);
+        when(rest.exchange(anyString(), any(HttpMethod.class), any(), eq(byte[].class)))
+                .thenThrow(ex);
+
+        ResponseEntity<Object> resp = client.doPost("/p", Map.of("a", 1));
+
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat((byte[]) resp.getBody()).isEqualTo(payload);
+        assertThat(resp.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void passthrough_emptyErrorBody_returnsEmptyResponseMessage() {
+        client.setPassthrough(true);
+        HttpClientErrorException ex = HttpClientErrorException.create(
+                HttpStatus.NOT_FOUND, "Not Found", HttpHeaders.EMPTY, new byte[0], StandardCharsets.UTF_8);
+        when(rest.exchange(anyString(), any(HttpMethod.class), any(), eq(byte[].class)))
+                .thenThrow(ex);
+
+        ResponseEntity<Object> resp = client.doPost("/p", Map.of("a", 1));
+
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(((Map<?, ?>) resp.getBody()).get("error")).isEqualTo("Empty response from upstream server");
+    }
+
+    @Test
+    void passthrough_resourceAccessException_returnsInternalServerError() {
+        client.setPassthrough(true);
+        when(rest.exchange(anyString(), any(HttpMethod.class), any(), eq(byte[].class)))
+                .thenThrow(new ResourceAccessException("connection refused"));
+
+        ResponseEntity<Object> resp = client.doDelete("/d/1");
+
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.INTERNAL_SERVER_ERROR);
+        assertThat(((Map<?, ?>) resp.getBody()).get("message")).asString().contains("connection refused");
+    }
+
+    @Test
+    void passthroughGet_withCachedEntry_revalidatesAndServesCachedBodyOn304() {
+        client.setPassthrough(true);
+        GatewayResponseCache cache = new GatewayResponseCache(10, DataSize.ofKilobytes(1));
+        client.setResponseCache(cache);
+        byte[] payload = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+        HttpHeaders upstreamHeaders = new HttpHeaders();
+        upstreamHeaders.setContentType(MediaType.APPLICATION_JSON);
+        upstreamHeaders.setETag("\"v1\"");
+        when(rest.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(byte[].class)))
+                .thenReturn(new ResponseEntity<>(payload, upstreamHeaders, HttpStatus.OK))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+
+        client.doGet("/items/1", null, 7L);
+        ResponseEntity<Object> resp = client.doGet("/items/1", null, 7L);
+
+        verify(rest, times(2)).exchange(eq("/items/1"), eq(HttpMethod.GET), httpEntityCaptor.capture(), eq(byte[].class));
+        assertThat(httpEntityCaptor.getAllValues().get(0).getHeaders().getIfNoneMatch()).isEmpty();
+        assertThat(httpEntityCaptor.getAllValues().get(1).getHeaders().getIfNoneMatch()).containsExactly("\"v1\"");
+        assertThat(resp.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(resp.getBody()).isSameAs(payload);
+        assertThat(resp.getHeaders().getETag()).isEqualTo("\"v1\"");
+    }
+
+    @Test
+    void passthroughGet_isCachedPerUser() {
+        client.setPassthrough(true);
+        GatewayResponseCache cache = new GatewayResponseCache(10, DataSize.ofKilobytes(1));
+        client.setResponseCache(cache);
+        HttpHeaders upstreamHeaders = new HttpHeaders();
+        upstreamHeaders.setETag("\"v1\"");
+        when(rest.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(byte[].class)))
+                .thenReturn(new ResponseEntity<>(new byte[]{1}, upstreamHeaders, HttpStatus.OK));
+
+        client.doGet("/items/1", null, 7L);
+        client.doGet("/items/1", null, 8L);
+
+        verify(rest, times(2)).exchange(eq("/items/1"), eq(HttpMethod.GET), httpEntityCaptor.capture(), eq(byte[].class));
+        assertThat(httpEntityCaptor.getAllValues().get(1).getHeaders().getIfNoneMatch()).isEmpty();
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void passthroughGet_withoutEtag_evictsCachedEntry() {
+        client.setPassthrough(true);
+        GatewayResponseCache cache = new GatewayResponseCache(10, DataSize.ofKilobytes(1));
+        client.setResponseCache(cache);
+        cache.put(GatewayResponseCache.key("/items/1", null, 7L),
+                new GatewayResponseCache.Entry("\"v1\"", new HttpHeaders(), new byte[]{1}));
+        when(rest.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(byte[].class)))
+                .thenReturn(ResponseEntity.ok(new byte[]{2}));
+
+        client.doGet("/items/1", null, 7L);
+
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void passthroughPost_isNotCached() {
+        client.setPassthrough(true);
+        GatewayResponseCache cache = new GatewayResponseCache(10, DataSize.ofKilobytes(1));
+        client.setResponseCache(cache);
+        HttpHeaders upstreamHeaders = new HttpHeaders();
+        upstreamHeaders.setETag("\"v1\"");
+        when(rest.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(byte[].class)))
+                .thenReturn(new ResponseEntity<>(new byte[]{1}, upstreamHeaders, HttpStatus.OK));
+
+        client.doPost("/items", Map.of("a", 1));
+
+        assertThat(cache.size()).isZero();
+    }
+
     static class TestClient extends BaseClient {
         public TestClient(RestTemplate rest) {
             super(rest);
@@ -10,9 +10,11 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.client.RestTemplate;
 import ru.practicum.shareit.common.HeaderConstants;
+import ru.practicum.shareit.dto.BookingDecisionDto;
 import ru.practicum.shareit.dto.BookingDto;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -164,9 +166,46 @@ class BookingClientTest {
         verify(spyClient).get(contains("state=WAITING"), isNull(), eq(userId));
     }
 
+    @Test
+    void getUserBookings_withCursor_shouldBuildQueryCorrectly() {
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(Object.class)))
+                .thenReturn(ResponseEntity.ok().build());
+
+        bookingClient.getUserBookings(3L, "PAST", LocalDateTime.of(2025, 1, 2, 10, 30), 7L, 20);
+
+        verify(restTemplate).exchange(contains("afterStart=2025-01-02T10:30"), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class));
+        verify(restTemplate).exchange(contains("afterId=7"), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class));
+        verify(restTemplate).exchange(contains("size=20"), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class));
+        verify(restTemplate, never()).exchange(contains("from="), any(HttpMethod.class), any(HttpEntity.class), eq(Object.class));
+    }
+
+    @Test
+    void getOwnerBookings_withCursor_shouldCallOwnerPath() {
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(Object.class)))
+                .thenReturn(ResponseEntity.ok().build());
+
+        bookingClient.getOwnerBookings(1L, "ALL", LocalDateTime.of(2025, 1, 2, 10, 30), 7L, 10);
+
+        verify(restTemplate).exchange(startsWith("/bookings/owner?"), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class));
+        verify(restTemplate).exchange(contains("afterId=7"), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class));
+    }
+
     @Test
     void constructor_shouldCreateClientSuccessfully() {
         BookingClient client = new BookingClient(restTemplate);
         assertNotNull(client);
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateBookings_shouldPatchDecisionListToCollection() {
+        List<BookingDecisionDto> decisions = List.of(new BookingDecisionDto(4L, true));
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(Object.class)))
+                .thenReturn(ResponseEntity.ok().build());
+
+        bookingClient.updateBookings(3L, decisions);
+
+        verify(restTemplate).exchange(eq("/bookings"), eq(HttpMethod.PATCH), httpEntityCaptor.capture(), eq(Object.class));
+        assertThat(httpEntityCaptor.getValue().getBody()).isEqualTo(decisions);
+        assertThat(httpEntityCaptor.getValue().getHeaders().getFirst(HeaderConstants.X_SHARER_USER_ID)).isEqualTo("3");
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GatewayResponseCacheTest {
+
+    @Test
+    void key_includesPathParametersAndUser() {
+        assertThat(GatewayResponseCache.key("/items/1", null, 1L))
+                .isNotEqualTo(GatewayResponseCache.key("/items/1", null, 2L));
+        assertThat(GatewayResponseCache.key("/items/{id}", Map.of("id", 1), 1L))
+                .isNotEqualTo(GatewayResponseCache.key("/items/{id}", Map.of("id", 2), 1L));
+        assertThat(GatewayResponseCache.key("/users", null, null)).isEqualTo("/users#null");
+    }
+
+    @Test
+    void put_overMaxEntries_evictsLeastRecentlyUsed() {
+        GatewayResponseCache cache = new GatewayResponseCache(2, DataSize.ofKilobytes(1));
+        cache.put("a", entry(10));
+        cache.put("b", entry(10));
+        cache.get("a");
+
+        cache.put("c", entry(10));
+
+        assertThat(cache.get("a")).isNotNull();
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isNotNull();
+        assertThat(cache.bytes()).isEqualTo(20);
+    }
+
+    @Test
+    void put_overMaxBytes_evictsUntilWithinBudget() {
+        GatewayResponseCache cache = new GatewayResponseCache(10, DataSize.ofBytes(100));
+        cache.put("a", entry(40));
+        cache.put("b", entry(40));
+
+        cache.put("c", entry(40));
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.bytes()).isEqualTo(80);
+    }
+
+    @Test
+    void put_entryLargerThanBudget_isNotStoredAndDropsPrevious() {
+        GatewayResponseCache cache = new GatewayResponseCache(10, DataSize.ofBytes(100));
+        cache.put("a", entry(40));
+
+        cache.put("a", entry(200));
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.bytes()).isZero();
+    }
+
+    @Test
+    void put_replacingEntry_updatesByteCount() {
+        GatewayResponseCache cache = new GatewayResponseCache(10, DataSize.ofBytes(100));
+        cache.put("a", entry(40));
+
+        cache.put("a", entry(10));
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.bytes()).isEqualTo(10);
+    }
+
+    @Test
+    void evict_removesEntryAndBytes() {
+        GatewayResponseCache cache = new GatewayResponseCache(10, DataSize.ofBytes(100));
+        cache.put("a", entry(40));
+
+        cache.evict("a");
+        cache.evict("missing");
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.bytes()).isZero();
+    }
+
+    private GatewayResponseCache.Entry entry(int length) {
+        return new GatewayResponseCache.Entry("\"e\"", new HttpHeaders(), new byte[length]);
+    }
+}
@@ -13,6 +13,9 @@ import ru.practicum.shareit.common.HeaderConstants;
 import ru.practicum.shareit.dto.CommentDto;
 import ru.practicum.shareit.dto.ItemDto;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -185,4 +188,30 @@ class ItemClientTest {
         itemClient.createComment(2L, 7L, commentDto);
         verify(restTemplate).exchange(eq("/items/7/comment"), eq(HttpMethod.POST), any(HttpEntity.class), eq(Object.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void createItems_shouldPostBatchWithUserHeader() {
+        List<ItemDto> items = List.of(ItemDto.builder().name("Drill").description("Drill").available(true).build());
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(Object.class)))
+                .thenReturn(ResponseEntity.ok().build());
+
+        itemClient.createItems(1L, items);
+
+        verify(restTemplate).exchange(eq("/items/batch"), eq(HttpMethod.POST), httpEntityCaptor.capture(), eq(Object.class));
+        assertThat(httpEntityCaptor.getValue().getBody()).isEqualTo(items);
+        assertThat(httpEntityCaptor.getValue().getHeaders().getFirst(HeaderConstants.X_SHARER_USER_ID)).isEqualTo("1");
+    }
+
+    @Test
+    void getComments_shouldPassCursorOnlyWhenPresent() {
+        when(restTemplate.exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(Object.class)))
+                .thenReturn(ResponseEntity.ok().build());
+
+        itemClient.getComments(1L, 2L, null, null, 10);
+        itemClient.getComments(1L, 2L, LocalDateTime.of(2025, 3, 1, 12, 0), 7L, 5);
+
+        verify(restTemplate).exchange(eq("/items/2/comments?size=10"), eq(HttpMethod.GET), any(HttpEntity.class), eq(Object.class));
+        verify(restTemplate).exchange(eq("/items/2/comments?size=5&before=2025-03-01T12:00&beforeId=7"), eq(HttpMethod.GET),
+                any(HttpEntity.class), eq(Object.class));
+    }
+}
@@ -75,6 +75,19 @@ class ItemRequestClientTest {
         verify(spyClient).get("/requests", null, 1L);
     }
 
+    @Test
+    void getUserRequests_paged_shouldAppendPagingParameters() {
+        ResponseEntity<Object> expectedResponse = ResponseEntity.ok("requests");
+
+        ItemRequestClient spyClient = spy(itemRequestClient);
+        doReturn(expectedResponse).when(spyClient).get(anyString(), any(), eq(1L));
+
+        ResponseEntity<Object> result = spyClient.getUserRequests(1L, 20, 10);
+
+        assertEquals(expectedResponse, result);
+        verify(spyClient).get("/requests?from=20&size=10", null, 1L);
+    }
+
     @Test
     void getAllRequests_shouldCallGetWithCorrectParameters() {
         int from = 0;
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.core5.http.HttpHost;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class WebClientConfigTest {
+
+    private final WebClientConfig config = new WebClientConfig();
+    private ServerClientProperties properties;
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ServerClientProperties();
+        properties.setUrl("http://localhost:9090");
+        properties.setMaxTotalConnections(50);
+        properties.setMaxConnectionsPerRoute(20);
+        properties.setConnectionTtl(Duration.ofMinutes(1));
+        connectionManager = config.serverConnectionManager(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionManager.close();
+    }
+
+    @Test
+    void serverConnectionManager_AppliesPoolLimits() {
+        HttpRoute route = new HttpRoute(new HttpHost("localhost", 9090));
+
+        assertEquals(50, connectionManager.getMaxTotal());
+        assertEquals(20, connectionManager.getDefaultMaxPerRoute());
+        assertEquals(20, connectionManager.getMaxPerRoute(route));
+    }
+
+    @Test
+    void serverConnectionPoolMetrics_RegistersPoolGauges() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        config.serverConnectionPoolMetrics(connectionManager).bindTo(registry);
+
+        assertEquals(50.0, registry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "shareit-server").gauge().value());
+        assertEquals(0.0, registry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("state", "leased").gauge().value());
+        assertNotNull(registry.get("httpcomponents.httpclient.pool.total.pending").gauge());
+    }
+}
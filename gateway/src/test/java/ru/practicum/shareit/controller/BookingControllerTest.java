@@ -12,12 +12,19 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.client.BookingClient;
 import ru.practicum.shareit.common.HeaderConstants;
+import ru.practicum.shareit.dto.BookingDecisionDto;
 import ru.practicum.shareit.dto.BookingDto;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -198,4 +205,79 @@ class BookingControllerTest {
                         .header(HeaderConstants.X_SHARER_USER_ID, userId))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    void getUserBookings_WithCursor_ShouldUseKeysetClientCall() throws Exception {
+        Long userId = 1L;
+        LocalDateTime afterStart = LocalDateTime.of(2025, 1, 2, 10, 30);
+
+        when(bookingClient.getUserBookings(eq(userId), eq("ALL"), eq(afterStart), eq(5L), eq(10)))
+                .thenReturn(ResponseEntity.ok("[]"));
+
+        mockMvc.perform(get("/bookings")
+                        .header(HeaderConstants.X_SHARER_USER_ID, userId)
+                        .param("afterStart", "2025-01-02T10:30:00")
+                        .param("afterId", "5"))
+                .andExpect(status().isOk());
+
+        verify(bookingClient, never()).getUserBookings(anyLong(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getOwnerBookings_WithCursor_ShouldUseKeysetClientCall() throws Exception {
+        Long userId = 1L;
+        LocalDateTime afterStart = LocalDateTime.of(2025, 1, 2, 10, 30);
+
+        when(bookingClient.getOwnerBookings(eq(userId), eq("FUTURE"), eq(afterStart), eq(5L), eq(3)))
+                .thenReturn(ResponseEntity.ok("[]"));
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header(HeaderConstants.X_SHARER_USER_ID, userId)
+                        .param("state", "FUTURE")
+                        .param("size", "3")
+                        .param("afterStart", "2025-01-02T10:30:00")
+                        .param("afterId", "5"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void updateBookings_ShouldForwardDecisions() throws Exception {
+        List<BookingDecisionDto> decisions = List.of(
+                new BookingDecisionDto(1L, true),
+                new BookingDecisionDto(2L, false));
+
+        when(bookingClient.updateBookings(eq(1L), any()))
+                .thenReturn(ResponseEntity.ok(List.of()));
+
+        mockMvc.perform(patch("/bookings")
+                        .header(HeaderConstants.X_SHARER_USER_ID, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(decisions)))
+                .andExpect(status().isOk());
+
+        verify(bookingClient).updateBookings(eq(1L), any());
+    }
+
+    @Test
+    void updateBookings_WithEmptyList_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(patch("/bookings")
+                        .header(HeaderConstants.X_SHARER_USER_ID, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        verify(bookingClient, never()).updateBookings(anyLong(), any());
+    }
+
+    @Test
+    void updateBookings_WithMissingDecision_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(patch("/bookings")
+                        .header(HeaderConstants.X_SHARER_USER_ID, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"bookingId\":1}]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("approved must be provided"));
+
+        verify(bookingClient, never()).updateBookings(anyLong(), any());
+    }
 }
@@ -12,8 +12,14 @@ import ru.practicum.shareit.client.ItemClient;
 import ru.practicum.shareit.common.HeaderConstants;
 import ru.practicum.shareit.dto.ItemDto;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -198,4 +204,74 @@ class ItemControllerTest {
                         .header(HeaderConstants.X_SHARER_USER_ID, userId))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    void createItems_ShouldForwardValidatedBatch() throws Exception {
+        List<ItemDto> items = List.of(
+                ItemDto.builder().name("Drill").description("Powerful drill").available(true).build(),
+                ItemDto.builder().name("Saw").description("Sharp saw").available(false).build());
+
+        when(itemClient.createItems(eq(1L), any()))
+                .thenReturn(ResponseEntity.ok(List.of()));
+
+        mockMvc.perform(post("/items/batch")
+                        .header(HeaderConstants.X_SHARER_USER_ID, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(items)))
+                .andExpect(status().isOk());
+
+        verify(itemClient).createItems(eq(1L), any());
+    }
+
+    @Test
+    void createItems_WithInvalidItem_ShouldReturnBadRequest() throws Exception {
+        List<ItemDto> items = List.of(
+                ItemDto.builder().name("Drill").description("Powerful drill").available(true).build(),
+                ItemDto.builder().name("").description("No name").available(true).build());
+
+        mockMvc.perform(post("/items/batch")
+                        .header(HeaderConstants.X_SHARER_USER_ID, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(items)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("name must be provided"));
+
+        verify(itemClient, never()).createItems(any(), any());
+    }
+
+    @Test
+    void createItems_WithEmptyBatch_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/items/batch")
+                        .header(HeaderConstants.X_SHARER_USER_ID, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).createItems(any(), any());
+    }
+
+    @Test
+    void getComments_ShouldForwardCursor() throws Exception {
+        LocalDateTime before = LocalDateTime.of(2025, 3, 1, 12, 0);
+        when(itemClient.getComments(1L, 2L, before, 7L, 5)).thenReturn(ResponseEntity.ok(List.of()));
+
+        mockMvc.perform(get("/items/2/comments")
+                        .header(HeaderConstants.X_SHARER_USER_ID, 1L)
+                        .param("before", "2025-03-01T12:00:00")
+                        .param("beforeId", "7")
+                        .param("size", "5"))
+                .andExpect(status().isOk());
+
+        verify(itemClient).getComments(1L, 2L, before, 7L, 5);
+    }
+
+    @Test
+    void getComments_NonPositiveSize_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/items/2/comments")
+                        .header(HeaderConstants.X_SHARER_USER_ID, 1L)
+                        .param("size", "0"))
+                .andExpect(status().isBadRequest());
+
+        verify(itemClient, never()).getComments(any(), any(), any(), any(), anyInt());
+    }
 }
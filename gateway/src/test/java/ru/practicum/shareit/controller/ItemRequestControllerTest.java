@@ -86,6 +86,18 @@ class ItemRequestControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void getUserRequests_withPaging_ShouldCallPagedClient() throws Exception {
+        Long userId = 1L;
+        when(itemRequestClient.getUserRequests(userId, 0, 5))
+                .thenReturn(ResponseEntity.ok("[]"));
+
+        mockMvc.perform(get("/requests")
+                        .header(HeaderConstants.X_SHARER_USER_ID, userId)
+                        .param("size", "5"))
+                .andExpect(status().isOk());
+    }
+
     @Test
     void getAllRequests_ShouldReturnAllRequests() throws Exception {
         Long userId = 1L;
@@ -11,10 +11,13 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.client.UserClient;
 import ru.practicum.shareit.dto.UserDto;
 
+import java.nio.charset.StandardCharsets;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -55,6 +58,21 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.email").value("john@example.com"));
     }
 
+    @Test
+    void getUser_WithPassthroughBody_ShouldWriteUpstreamBytes() throws Exception {
+        byte[] upstream = "{\"id\":1,\"name\":\"John Doe\",\"email\":\"john@example.com\"}"
+                .getBytes(StandardCharsets.UTF_8);
+
+        when(userClient.getUser(1L))
+                .thenReturn(ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(upstream));
+
+        mockMvc.perform(get("/users/1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(upstream))
+                .andExpect(jsonPath("$.name").value("John Doe"));
+    }
+
     @Test
     void createUser_WithInvalidData_ShouldReturnBadRequest() throws Exception {
         UserDto invalidUser = UserDto.builder()
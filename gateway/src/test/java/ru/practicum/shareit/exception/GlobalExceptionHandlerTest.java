@@ -1,5 +1,9 @@
 package ru.practicum.shareit.exception;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpStatus;
@@ -7,6 +11,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import ru.practicum.shareit.dto.BookingDecisionDto;
+
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -93,4 +100,16 @@ class GlobalExceptionHandlerTest {
 
         assertEquals("Validation failed", response.getBody().getError());
     }
-}
\ No newline at end of file
+
+    @Test
+    void handleConstraintViolation_ShouldReturnBadRequestWithViolationMessage() {
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        Set<ConstraintViolation<BookingDecisionDto>> violations = validator.validate(new BookingDecisionDto(1L, null));
+
+        ResponseEntity<ApiError> response =
+                exceptionHandler.handleConstraintViolation(new ConstraintViolationException(violations));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("approved must be provided", response.getBody().getError());
+    }
+}
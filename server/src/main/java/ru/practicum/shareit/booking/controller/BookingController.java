@@ -2,14 +2,20 @@ package ru.practicum.shareit.booking.controller;
 
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.common.HeaderConstants;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController("bookingControllerBean")
@@ -37,11 +43,23 @@ public class BookingController {
         return ResponseEntity.ok(updated);
     }
 
+    @PatchMapping
+    public ResponseEntity<List<BookingDecisionResultDto>> approveAll(
+            @RequestHeader(HeaderConstants.X_SHARER_USER_ID) Long ownerId,
+            @RequestBody List<BookingDecisionDto> decisions) {
+        return ResponseEntity.ok(service.approveAll(ownerId, decisions));
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<BookingResponseDto> getById(@RequestHeader(HeaderConstants.X_SHARER_USER_ID) Long userId,
-                                                      @PathVariable Long bookingId) {
+                                                      @PathVariable Long bookingId,
+                                                      WebRequest request) {
+        String etag = service.getVersionTag(userId, bookingId);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         BookingResponseDto dto = service.getById(userId, bookingId);
-        return ResponseEntity.ok(dto);
+        return ResponseEntity.ok().eTag(etag).body(dto);
     }
 
     @GetMapping
@@ -49,8 +67,13 @@ public class BookingController {
             @RequestHeader(HeaderConstants.X_SHARER_USER_ID) Long userId,
             @RequestParam(value = "state", required = false, defaultValue = "ALL") String state,
             @RequestParam(value = "from", required = false, defaultValue = "0") @PositiveOrZero int from,
-            @RequestParam(value = "size", required = false, defaultValue = "10") @Positive int size) {
-        List<BookingResponseDto> list = service.getByBooker(userId, state, from, size);
+            @RequestParam(value = "size", required = false, defaultValue = "10") @Positive int size,
+            @RequestParam(value = "afterStart", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterStart,
+            @RequestParam(value = "afterId", required = false) Long afterId) {
+        List<BookingResponseDto> list = afterStart == null && afterId == null
+                ? service.getByBooker(userId, state, from, size)
+                : service.getByBooker(userId, state, afterStart, afterId, size);
         return ResponseEntity.ok(list);
     }
 
@@ -59,8 +82,13 @@ public class BookingController {
             @RequestHeader(HeaderConstants.X_SHARER_USER_ID) Long ownerId,
             @RequestParam(value = "state", required = false, defaultValue = "ALL") String state,
             @RequestParam(value = "from", required = false, defaultValue = "0") @PositiveOrZero int from,
-            @RequestParam(value = "size", required = false, defaultValue = "10") @Positive int size) {
-        List<BookingResponseDto> list = service.getByOwner(ownerId, state, from, size);
+            @RequestParam(value = "size", required = false, defaultValue = "10") @Positive int size,
+            @RequestParam(value = "afterStart", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterStart,
+            @RequestParam(value = "afterId", required = false) Long afterId) {
+        List<BookingResponseDto> list = afterStart == null && afterId == null
+                ? service.getByOwner(ownerId, state, from, size)
+                : service.getByOwner(ownerId, state, afterStart, afterId, size);
         return ResponseEntity.ok(list);
     }
 }
\ No newline at end of file
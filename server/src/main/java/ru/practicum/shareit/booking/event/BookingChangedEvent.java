@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BookingChangedEvent {
+    private final Long bookingId;
+    private final Long itemId;
+}
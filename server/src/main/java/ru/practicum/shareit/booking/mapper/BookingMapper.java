@@ -15,7 +15,9 @@ public interface BookingMapper {
 
     @Mapping(target = "item", ignore = true)
     @Mapping(target = "booker", ignore = true)
+    @Mapping(target = "ownerId", ignore = true)
     @Mapping(target = "status", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Booking toModel(BookingDto dto);
 
     @Mapping(target = "item", qualifiedByName = "toItemShort")
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.Builder;
+import lombok.Value;
+import ru.practicum.shareit.booking.model.BookingState;
+
+import java.time.LocalDateTime;
+
+@Value
+@Builder
+public class BookingFilter {
+    Long bookerId;
+    Long ownerId;
+    BookingState state;
+    LocalDateTime now;
+    LocalDateTime afterStart;
+    Long afterId;
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.booking.repository;
+
+import jakarta.persistence.EntityGraph;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class BookingQueryRepositoryImpl implements BookingQueryRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Slice<Booking> findSlice(BookingFilter filter, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Booking> query = cb.createQuery(Booking.class);
+        Root<Booking> booking = query.from(Booking.class);
+        Path<LocalDateTime> start = booking.get("start");
+        Path<LocalDateTime> end = booking.get("end");
+        Path<Long> id = booking.get("id");
+
+        List<Predicate> where = new ArrayList<>();
+        if (filter.getBookerId() != null) {
+            where.add(cb.equal(booking.get("booker").get("id"), filter.getBookerId()));
+        }
+        if (filter.getOwnerId() != null) {
+            where.add(cb.equal(booking.get("ownerId"), filter.getOwnerId()));
+        }
+        switch (filter.getState()) {
+            case CURRENT -> {
+                where.add(cb.lessThan(start, filter.getNow()));
+                where.add(cb.greaterThan(end, filter.getNow()));
+            }
+            case PAST -> where.add(cb.lessThan(end, filter.getNow()));
+            case FUTURE -> where.add(cb.greaterThan(start, filter.getNow()));
+            case WAITING -> where.add(cb.equal(booking.get("status"), BookingStatus.WAITING));
+            case REJECTED -> where.add(cb.equal(booking.get("status"), BookingStatus.REJECTED));
+            default -> {
+            }
+        }
+        if (filter.getAfterStart() != null) {
+            where.add(cb.or(cb.lessThan(start, filter.getAfterStart()),
+                    cb.and(cb.equal(start, filter.getAfterStart()), cb.lessThan(id, filter.getAfterId()))));
+        }
+        query.where(where.toArray(Predicate[]::new))
+                .orderBy(cb.desc(start), cb.desc(id));
+
+        EntityGraph<Booking> graph = entityManager.createEntityGraph(Booking.class);
+        graph.addAttributeNodes("item", "booker");
+        TypedQuery<Booking> typed = entityManager.createQuery(query)
+                .setHint("jakarta.persistence.fetchgraph", graph)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1);
+        List<Booking> rows = typed.getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+}
@@ -1,44 +1,45 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingQueryRepository {
 
-    Page<Booking> findByBooker_IdOrderByStartDesc(Long bookerId, Pageable pageable);
+    @Override
+    @EntityGraph(attributePaths = {"item", "item.owner", "booker"})
+    Optional<Booking> findById(Long id);
 
-    Page<Booking> findByBooker_IdAndStatusOrderByStartDesc(Long bookerId, BookingStatus status, Pageable pageable);
+    @Query("select b.version as version, b.booker.id as bookerId, b.ownerId as ownerId, " +
+            "i.version as itemVersion, u.version as bookerVersion " +
+            "from Booking b join b.item i join b.booker u where b.id = :id")
+    Optional<BookingVersionView> findVersionById(Long id);
 
-    Page<Booking> findByBooker_IdAndStartBeforeAndEndAfterOrderByStartDesc(Long bookerId,
-                                                                           LocalDateTime before,
-                                                                           LocalDateTime after,
-                                                                           Pageable pageable);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b set b.status = :status, b.version = b.version + 1 " +
+            "where b.id = :id and b.ownerId = :ownerId " +
+            "and b.status = ru.practicum.shareit.booking.model.BookingStatus.WAITING")
+    int updateStatusIfWaiting(Long id, Long ownerId, BookingStatus status);
 
-    Page<Booking> findByBooker_IdAndEndBeforeOrderByStartDesc(Long bookerId, LocalDateTime before, Pageable pageable);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking b set b.status = :status, b.version = b.version + 1 " +
+            "where b.id in :ids and b.ownerId = :ownerId " +
+            "and b.status = ru.practicum.shareit.booking.model.BookingStatus.WAITING")
+    int updateStatusIfWaiting(Collection<Long> ids, Long ownerId, BookingStatus status);
 
-    Page<Booking> findByBooker_IdAndStartAfterOrderByStartDesc(Long bookerId, LocalDateTime after, Pageable pageable);
-
-    Page<Booking> findByItem_Owner_IdOrderByStartDesc(Long ownerId, Pageable pageable);
-
-    Page<Booking> findByItem_Owner_IdAndStatusOrderByStartDesc(Long ownerId, BookingStatus status, Pageable pageable);
-
-    Page<Booking> findByItem_Owner_IdAndStartBeforeAndEndAfterOrderByStartDesc(Long ownerId,
-                                                                               LocalDateTime before,
-                                                                               LocalDateTime after,
-                                                                               Pageable pageable);
-
-    Page<Booking> findByItem_Owner_IdAndEndBeforeOrderByStartDesc(Long ownerId, LocalDateTime before, Pageable pageable);
-
-    Page<Booking> findByItem_Owner_IdAndStartAfterOrderByStartDesc(Long ownerId, LocalDateTime after, Pageable pageable);
+    @Query(value = "select id as \"id\", owner_id as \"ownerId\", item_id as \"itemId\", status as \"status\" " +
+            "from bookings where id in (:ids) for update", nativeQuery = true)
+    List<BookingStateView> findStatesForUpdate(Collection<Long> ids);
 
     Optional<Booking> findFirstByItem_IdAndStatusAndStartBeforeOrderByStartDesc(Long itemId,
                                                                                 BookingStatus status,
@@ -48,6 +49,22 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
                                                                               BookingStatus status,
                                                                               LocalDateTime after);
 
+    @Query(value = "select b.id as \"id\", b.item_id as \"itemId\", b.booker_id as \"bookerId\", b.start_date as \"start\" from (" +
+            " select id, item_id, booker_id, start_date," +
+            " row_number() over (partition by item_id order by start_date desc) as rn" +
+            " from bookings" +
+            " where item_id in (:itemIds) and status = 'APPROVED' and start_date < :now) b " +
+            "where b.rn = 1", nativeQuery = true)
+    List<ItemBookingView> findLastApprovedByItemIds(Collection<Long> itemIds, LocalDateTime now);
+
+    @Query(value = "select b.id as \"id\", b.item_id as \"itemId\", b.booker_id as \"bookerId\", b.start_date as \"start\" from (" +
+            " select id, item_id, booker_id, start_date," +
+            " row_number() over (partition by item_id order by start_date asc) as rn" +
+            " from bookings" +
+            " where item_id in (:itemIds) and status = 'APPROVED' and start_date > :now) b " +
+            "where b.rn = 1", nativeQuery = true)
+    List<ItemBookingView> findNextApprovedByItemIds(Collection<Long> itemIds, LocalDateTime now);
+
     List<Booking> findByBooker_IdAndItem_IdAndStatusAndEndBefore(Long bookerId,
                                                                  Long itemId,
                                                                  BookingStatus status,
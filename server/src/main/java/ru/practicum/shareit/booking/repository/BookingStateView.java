@@ -0,0 +1,13 @@
+package ru.practicum.shareit.booking.repository;
+
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+public interface BookingStateView {
+    Long getId();
+
+    Long getOwnerId();
+
+    Long getItemId();
+
+    BookingStatus getStatus();
+}
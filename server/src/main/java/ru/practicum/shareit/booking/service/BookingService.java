@@ -1,8 +1,11 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface BookingService {
@@ -10,9 +13,17 @@ public interface BookingService {
 
     BookingResponseDto approve(Long ownerId, Long bookingId, boolean approved);
 
+    List<BookingDecisionResultDto> approveAll(Long ownerId, List<BookingDecisionDto> decisions);
+
     BookingResponseDto getById(Long userId, Long bookingId);
 
+    String getVersionTag(Long userId, Long bookingId);
+
     List<BookingResponseDto> getByBooker(Long bookerId, String state, int from, int size);
 
     List<BookingResponseDto> getByOwner(Long ownerId, String state, int from, int size);
+
+    List<BookingResponseDto> getByBooker(Long bookerId, String state, LocalDateTime afterStart, Long afterId, int size);
+
+    List<BookingResponseDto> getByOwner(Long ownerId, String state, LocalDateTime afterStart, Long afterId, int size);
 }
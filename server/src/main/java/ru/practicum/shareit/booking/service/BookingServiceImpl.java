@@ -1,26 +1,50 @@
 package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingFilter;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingStateView;
+import ru.practicum.shareit.booking.repository.BookingVersionView;
+import ru.practicum.shareit.config.ShardExecutor;
 import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
+import ru.practicum.shareit.user.cache.UserCache;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -28,10 +52,20 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
 
+    private static final String OVERLAP_CONSTRAINT = "ex_bookings_item_period";
+    private static final String EXCLUSION_VIOLATION_STATE = "23P01";
+    private static final Comparator<BookingResponseDto> BOOKING_ORDER = Comparator
+            .comparing(BookingResponseDto::getStart, Comparator.reverseOrder())
+            .thenComparing(BookingResponseDto::getId, Comparator.reverseOrder());
+
     private final BookingRepository bookingRepo;
     private final ItemRepository itemRepo;
     private final UserRepository userRepo;
+    private final UserCache userCache;
     private final BookingMapper bookingMapper;
+    private final ItemSummaryService itemSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardExecutor shardExecutor;
 
     @Override
     @Transactional
@@ -54,16 +88,29 @@ public class BookingServiceImpl implements BookingService {
         Booking booking = bookingMapper.toModel(dto);
         booking.setItem(item);
         booking.setBooker(booker);
+        booking.setOwnerId(item.getOwner().getId());
         booking.setStatus(BookingStatus.WAITING);
 
-        booking = bookingRepo.save(booking);
+        try {
+            booking = bookingRepo.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException ex) {
+            if (isOverlapViolation(ex)) {
+                throw new ConflictException("Item is already booked for the requested period");
+            }
+            throw ex;
+        }
 
+        itemSummaryService.refresh(List.of(item.getId()));
+        eventPublisher.publishEvent(new BookingChangedEvent(booking.getId(), item.getId()));
         return bookingMapper.toResponseDto(booking);
     }
 
     @Override
     @Transactional
     public BookingResponseDto approve(Long ownerId, Long bookingId, boolean approved) {
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        int updated = bookingRepo.updateStatusIfWaiting(bookingId, ownerId, status);
+
         Booking booking = bookingRepo.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Booking not found: " + bookingId));
         Item item = booking.getItem();
@@ -71,19 +118,69 @@ public class BookingServiceImpl implements BookingService {
             throw new NotFoundException("Item not found for booking: " + bookingId);
         }
 
-        if (!item.getOwner().getId().equals(ownerId)) {
-            throw new ForbiddenException("Only owner can approve/reject");
-        }
-        if (booking.getStatus() != BookingStatus.WAITING) {
+        if (updated == 0) {
+            if (!item.getOwner().getId().equals(ownerId)) {
+                throw new ForbiddenException("Only owner can approve/reject");
+            }
             throw new BadRequestException("Only WAITING can be changed");
         }
 
-        booking.setStatus(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED);
-        booking = bookingRepo.save(booking);
-
+        itemSummaryService.refresh(List.of(item.getId()));
+        eventPublisher.publishEvent(new BookingChangedEvent(booking.getId(), item.getId()));
         return bookingMapper.toResponseDto(booking);
     }
 
+    @Override
+    @Transactional
+    public List<BookingDecisionResultDto> approveAll(Long ownerId, List<BookingDecisionDto> decisions) {
+        if (decisions == null || decisions.isEmpty()) {
+            throw new BadRequestException("At least one decision must be provided");
+        }
+        Map<Long, Boolean> requested = new LinkedHashMap<>();
+        for (BookingDecisionDto decision : decisions) {
+            if (decision == null || decision.getBookingId() == null || decision.getApproved() == null) {
+                throw new BadRequestException("bookingId and approved must be provided");
+            }
+            if (requested.put(decision.getBookingId(), decision.getApproved()) != null) {
+                throw new BadRequestException("Duplicate booking id: " + decision.getBookingId());
+            }
+        }
+
+        Map<Long, BookingStateView> states = lockStates(requested.keySet());
+        Map<Long, BookingDecisionResultDto> results = new HashMap<>();
+        Map<BookingStatus, List<Long>> eligible = new EnumMap<>(BookingStatus.class);
+        Set<Long> changedItems = new TreeSet<>();
+        requested.forEach((id, approved) -> {
+            BookingStateView state = states.get(id);
+            if (state == null) {
+                results.put(id, new BookingDecisionResultDto(id, null, "Booking not found: " + id));
+            } else if (!state.getOwnerId().equals(ownerId)) {
+                results.put(id, new BookingDecisionResultDto(id, null, "Only owner can approve/reject"));
+            } else if (state.getStatus() != BookingStatus.WAITING) {
+                results.put(id, new BookingDecisionResultDto(id, state.getStatus(), "Only WAITING can be changed"));
+            } else {
+                eligible.computeIfAbsent(approved ? BookingStatus.APPROVED : BookingStatus.REJECTED,
+                        status -> new ArrayList<>()).add(id);
+            }
+        });
+
+        eligible.forEach((status, ids) -> {
+            if (bookingRepo.updateStatusIfWaiting(ids, ownerId, status) != ids.size()) {
+                throw new ConflictException("Bookings were changed concurrently, retry the decisions");
+            }
+            for (Long id : ids) {
+                results.put(id, new BookingDecisionResultDto(id, status, null));
+                changedItems.add(states.get(id).getItemId());
+                eventPublisher.publishEvent(new BookingChangedEvent(id, states.get(id).getItemId()));
+            }
+        });
+        if (!changedItems.isEmpty()) {
+            itemSummaryService.refresh(changedItems);
+        }
+
+        return requested.keySet().stream().map(results::get).collect(Collectors.toList());
+    }
+
     @Override
     public BookingResponseDto getById(Long userId, Long bookingId) {
         Booking booking = bookingRepo.findById(bookingId)
@@ -95,81 +192,89 @@ public class BookingServiceImpl implements BookingService {
         return bookingMapper.toResponseDto(booking);
     }
 
+    @Override
+    public String getVersionTag(Long userId, Long bookingId) {
+        BookingVersionView view = bookingRepo.findVersionById(bookingId)
+                .orElseThrow(() -> new NotFoundException("Booking not found: " + bookingId));
+        if (!view.getBookerId().equals(userId) && !view.getOwnerId().equals(userId)) {
+            throw new NotFoundException("Booking not accessible");
+        }
+        return "booking-" + bookingId + "-" + view.getVersion() + "-" + view.getItemVersion() + "-"
+                + view.getBookerVersion();
+    }
+
     @Override
     public List<BookingResponseDto> getByBooker(Long bookerId, String state, int from, int size) {
-        if (!userRepo.existsById(bookerId)) throw new NotFoundException("User not found: " + bookerId);
+        if (!userCache.exists(bookerId)) throw new NotFoundException("User not found: " + bookerId);
 
         if (from < 0) from = 0;
         if (size <= 0) throw new BadRequestException("size must be positive");
-        int page = from / size;
-        PageRequest pageRequest = PageRequest.of(page, size);
-
-        Page<Booking> pageResult;
-        LocalDateTime now = LocalDateTime.now();
-
-        if (state == null || state.isBlank() || "ALL".equalsIgnoreCase(state)) {
-            pageResult = bookingRepo.findByBooker_IdOrderByStartDesc(bookerId, pageRequest);
-        } else {
-            switch (state.toUpperCase()) {
-                case "CURRENT":
-                    pageResult = bookingRepo.findByBooker_IdAndStartBeforeAndEndAfterOrderByStartDesc(bookerId, now, now, pageRequest);
-                    break;
-                case "PAST":
-                    pageResult = bookingRepo.findByBooker_IdAndEndBeforeOrderByStartDesc(bookerId, now, pageRequest);
-                    break;
-                case "FUTURE":
-                    pageResult = bookingRepo.findByBooker_IdAndStartAfterOrderByStartDesc(bookerId, now, pageRequest);
-                    break;
-                case "WAITING":
-                    pageResult = bookingRepo.findByBooker_IdAndStatusOrderByStartDesc(bookerId, BookingStatus.WAITING, pageRequest);
-                    break;
-                case "REJECTED":
-                    pageResult = bookingRepo.findByBooker_IdAndStatusOrderByStartDesc(bookerId, BookingStatus.REJECTED, pageRequest);
-                    break;
-                default:
-                    throw new BadRequestException("Unknown state: " + state);
-            }
-        }
-
-        return pageResult.getContent().stream().map(bookingMapper::toResponseDto).collect(Collectors.toList());
+        BookingFilter filter = filter(state).bookerId(bookerId).build();
+        return shardExecutor.gather(pageable -> find(filter, pageable), BOOKING_ORDER, from, size);
     }
 
     @Override
     public List<BookingResponseDto> getByOwner(Long ownerId, String state, int from, int size) {
-        if (!userRepo.existsById(ownerId)) throw new NotFoundException("User not found: " + ownerId);
+        if (!userCache.exists(ownerId)) throw new NotFoundException("User not found: " + ownerId);
 
         if (from < 0) from = 0;
         if (size <= 0) throw new BadRequestException("size must be positive");
-        int page = from / size;
-        PageRequest pageRequest = PageRequest.of(page, size);
+        BookingFilter filter = filter(state).ownerId(ownerId).build();
+        return find(filter, PageRequest.of(from / size, size));
+    }
 
-        Page<Booking> pageResult;
-        LocalDateTime now = LocalDateTime.now();
+    @Override
+    public List<BookingResponseDto> getByBooker(Long bookerId, String state, LocalDateTime afterStart, Long afterId, int size) {
+        if (!userCache.exists(bookerId)) throw new NotFoundException("User not found: " + bookerId);
+        if (afterStart == null || afterId == null) throw new BadRequestException("afterStart and afterId must be provided together");
+        if (size <= 0) throw new BadRequestException("size must be positive");
+        BookingFilter filter = filter(state).bookerId(bookerId).afterStart(afterStart).afterId(afterId).build();
+        return shardExecutor.gather(pageable -> find(filter, pageable), BOOKING_ORDER, 0, size);
+    }
 
-        if (state == null || state.isBlank() || "ALL".equalsIgnoreCase(state)) {
-            pageResult = bookingRepo.findByItem_Owner_IdOrderByStartDesc(ownerId, pageRequest);
+    @Override
+    public List<BookingResponseDto> getByOwner(Long ownerId, String state, LocalDateTime afterStart, Long afterId, int size) {
+        if (!userCache.exists(ownerId)) throw new NotFoundException("User not found: " + ownerId);
+        if (afterStart == null || afterId == null) throw new BadRequestException("afterStart and afterId must be provided together");
+        if (size <= 0) throw new BadRequestException("size must be positive");
+        BookingFilter filter = filter(state).ownerId(ownerId).afterStart(afterStart).afterId(afterId).build();
+        return find(filter, PageRequest.of(0, size));
+    }
+
+    private BookingFilter.BookingFilterBuilder filter(String state) {
+        BookingState parsed;
+        if (state == null || state.isBlank()) {
+            parsed = BookingState.ALL;
         } else {
-            switch (state.toUpperCase()) {
-                case "CURRENT":
-                    pageResult = bookingRepo.findByItem_Owner_IdAndStartBeforeAndEndAfterOrderByStartDesc(ownerId, now, now, pageRequest);
-                    break;
-                case "PAST":
-                    pageResult = bookingRepo.findByItem_Owner_IdAndEndBeforeOrderByStartDesc(ownerId, now, pageRequest);
-                    break;
-                case "FUTURE":
-                    pageResult = bookingRepo.findByItem_Owner_IdAndStartAfterOrderByStartDesc(ownerId, now, pageRequest);
-                    break;
-                case "WAITING":
-                    pageResult = bookingRepo.findByItem_Owner_IdAndStatusOrderByStartDesc(ownerId, BookingStatus.WAITING, pageRequest);
-                    break;
-                case "REJECTED":
-                    pageResult = bookingRepo.findByItem_Owner_IdAndStatusOrderByStartDesc(ownerId, BookingStatus.REJECTED, pageRequest);
-                    break;
-                default:
-                    throw new BadRequestException("Unknown state: " + state);
+            try {
+                parsed = BookingState.valueOf(state.toUpperCase());
+            } catch (IllegalArgumentException ex) {
+                throw new BadRequestException("Unknown state: " + state);
             }
         }
+        return BookingFilter.builder().state(parsed).now(LocalDateTime.now());
+    }
+
+    private List<BookingResponseDto> find(BookingFilter filter, Pageable pageable) {
+        return bookingRepo.findSlice(filter, pageable).getContent().stream()
+                .map(bookingMapper::toResponseDto)
+                .collect(Collectors.toList());
+    }
+
+    private Map<Long, BookingStateView> lockStates(Collection<Long> ids) {
+        return bookingRepo.findStatesForUpdate(ids).stream()
+                .collect(Collectors.toMap(BookingStateView::getId, Function.identity()));
+    }
 
-        return pageResult.getContent().stream().map(bookingMapper::toResponseDto).collect(Collectors.toList());
+    private boolean isOverlapViolation(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlEx && EXCLUSION_VIOLATION_STATE.equals(sqlEx.getSQLState())) {
+                return true;
+            }
+            if (cause.getMessage() != null && cause.getMessage().contains(OVERLAP_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
     }
 }
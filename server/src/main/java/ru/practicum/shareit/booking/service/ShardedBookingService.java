@@ -0,0 +1,73 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.config.ShardExecutor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Primary
+@RequiredArgsConstructor
+public class ShardedBookingService implements BookingService {
+
+    private final BookingServiceImpl delegate;
+    private final ShardExecutor shardExecutor;
+
+    @Override
+    public BookingResponseDto create(Long userId, BookingDto dto) {
+        if (dto == null || dto.getItemId() == null) {
+            return delegate.create(userId, dto);
+        }
+        return shardExecutor.onShardOf(dto.getItemId(), () -> delegate.create(userId, dto));
+    }
+
+    @Override
+    public BookingResponseDto approve(Long ownerId, Long bookingId, boolean approved) {
+        return shardExecutor.onShardOf(bookingId, () -> delegate.approve(ownerId, bookingId, approved));
+    }
+
+    @Override
+    public List<BookingDecisionResultDto> approveAll(Long ownerId, List<BookingDecisionDto> decisions) {
+        return shardExecutor.onOwnerShard(ownerId, () -> delegate.approveAll(ownerId, decisions));
+    }
+
+    @Override
+    public BookingResponseDto getById(Long userId, Long bookingId) {
+        return shardExecutor.onShardOf(bookingId, () -> delegate.getById(userId, bookingId));
+    }
+
+    @Override
+    public String getVersionTag(Long userId, Long bookingId) {
+        return shardExecutor.onShardOf(bookingId, () -> delegate.getVersionTag(userId, bookingId));
+    }
+
+    @Override
+    public List<BookingResponseDto> getByBooker(Long bookerId, String state, int from, int size) {
+        return delegate.getByBooker(bookerId, state, from, size);
+    }
+
+    @Override
+    public List<BookingResponseDto> getByOwner(Long ownerId, String state, int from, int size) {
+        return shardExecutor.onOwnerShard(ownerId, () -> delegate.getByOwner(ownerId, state, from, size));
+    }
+
+    @Override
+    public List<BookingResponseDto> getByBooker(Long bookerId, String state, LocalDateTime afterStart, Long afterId,
+                                                int size) {
+        return delegate.getByBooker(bookerId, state, afterStart, afterId, size);
+    }
+
+    @Override
+    public List<BookingResponseDto> getByOwner(Long ownerId, String state, LocalDateTime afterStart, Long afterId,
+                                               int size) {
+        return shardExecutor.onOwnerShard(ownerId, () -> delegate.getByOwner(ownerId, state, afterStart, afterId,
+                size));
+    }
+}
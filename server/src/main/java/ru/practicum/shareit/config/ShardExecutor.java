@@ -0,0 +1,95 @@
+package ru.practicum.shareit.config;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Component
+public class ShardExecutor {
+
+    private final ShardMap shardMap;
+    private final TransactionTemplate writeTemplate;
+    private final TransactionTemplate readTemplate;
+
+    public ShardExecutor(ShardMap shardMap, PlatformTransactionManager transactionManager) {
+        this.shardMap = shardMap;
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.writeTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTemplate.setReadOnly(true);
+    }
+
+    public boolean isSharded() {
+        return shardMap.isSharded();
+    }
+
+    public <T> T onOwnerShard(Long ownerId, Supplier<T> action) {
+        if (!shardMap.isSharded()) {
+            return action.get();
+        }
+        return ShardContext.callOn(shardMap.forOwner(ownerId), () -> writeTemplate.execute(status -> action.get()));
+    }
+
+    public <T> T onShardOf(Long id, Supplier<T> action) {
+        if (!shardMap.isSharded()) {
+            return action.get();
+        }
+        return ShardContext.callOn(shardMap.forId(id), () -> writeTemplate.execute(status -> action.get()));
+    }
+
+    public void onEachShard(Runnable action) {
+        if (!shardMap.isSharded()) {
+            action.run();
+            return;
+        }
+        for (String shard : shardMap.getOwnerShards()) {
+            ShardContext.callOn(shard, () -> writeTemplate.execute(status -> {
+                action.run();
+                return null;
+            }));
+        }
+    }
+
+    public void replicate(Runnable action) {
+        if (shardMap.isSharded()) {
+            onEachShard(action);
+        }
+    }
+
+    public <T> List<T> collect(Supplier<List<T>> query) {
+        if (!shardMap.isSharded()) {
+            return query.get();
+        }
+        List<T> merged = new ArrayList<>();
+        for (String shard : shardMap.getOwnerShards()) {
+            merged.addAll(ShardContext.callOn(shard, () -> readTemplate.execute(status -> query.get())));
+        }
+        return merged;
+    }
+
+    public <T> List<T> gather(Function<Pageable, List<T>> query, Comparator<? super T> order, int from, int size) {
+        if (!shardMap.isSharded()) {
+            return query.apply(PageRequest.of(from / size, size));
+        }
+        Pageable perShard = PageRequest.of(0, from + size);
+        List<T> merged = new ArrayList<>();
+        for (String shard : shardMap.getOwnerShards()) {
+            merged.addAll(ShardContext.callOn(shard, () -> readTemplate.execute(status -> query.apply(perShard))));
+        }
+        merged.sort(order);
+        return merged.stream()
+                .skip(from)
+                .limit(size)
+                .toList();
+    }
+}
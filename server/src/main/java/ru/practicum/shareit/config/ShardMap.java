@@ -0,0 +1,63 @@
+package ru.practicum.shareit.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ShardMap {
+    public static final String GLOBAL = "global";
+    public static final long ID_RANGE = 1_000_000_000_000L;
+
+    private final List<String> ownerShards;
+    private final Map<Long, String> pinnedOwners;
+
+    public ShardMap(List<String> ownerShards, Map<Long, String> pinnedOwners) {
+        this.ownerShards = ownerShards.isEmpty() ? List.of(GLOBAL) : List.copyOf(ownerShards);
+        this.pinnedOwners = new HashMap<>(pinnedOwners);
+    }
+
+    public static ShardMap of(ShardProperties properties) {
+        List<String> names = new ArrayList<>();
+        Map<Long, String> pinned = new HashMap<>();
+        List<ShardProperties.Shard> shards = properties.getShards();
+        for (int i = 0; i < shards.size(); i++) {
+            String name = shardName(i);
+            names.add(name);
+            shards.get(i).getOwners().forEach(owner -> pinned.put(owner, name));
+        }
+        return new ShardMap(names, pinned);
+    }
+
+    public static String shardName(int index) {
+        return "shard-" + index;
+    }
+
+    public String forOwner(Long ownerId) {
+        String pinned = pinnedOwners.get(ownerId);
+        if (pinned != null) {
+            return pinned;
+        }
+        return ownerShards.get(Math.floorMod(ownerId, ownerShards.size()));
+    }
+
+    public String forId(Long id) {
+        long index = id / ID_RANGE - 1;
+        if (index < 0 || index >= ownerShards.size() || !isSharded()) {
+            return GLOBAL;
+        }
+        return ownerShards.get((int) index);
+    }
+
+    public static long idBase(int index) {
+        return (index + 1) * ID_RANGE;
+    }
+
+    public List<String> getOwnerShards() {
+        return ownerShards;
+    }
+
+    public boolean isSharded() {
+        return !ownerShards.equals(List.of(GLOBAL));
+    }
+}
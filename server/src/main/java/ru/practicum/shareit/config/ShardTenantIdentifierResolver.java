@@ -0,0 +1,17 @@
+package ru.practicum.shareit.config;
+
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+
+public class ShardTenantIdentifierResolver implements CurrentTenantIdentifierResolver<String> {
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        String shard = ShardContext.current();
+        return shard != null ? shard : ShardMap.GLOBAL;
+    }
+
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+}
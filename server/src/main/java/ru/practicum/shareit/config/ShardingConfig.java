@@ -0,0 +1,113 @@
+package ru.practicum.shareit.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.init.DataSourceScriptDatabaseInitializer;
+import org.springframework.boot.sql.init.DatabaseInitializationSettings;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@EnableConfigurationProperties(ShardProperties.class)
+public class ShardingConfig {
+
+    private static final List<String> OWNER_SEQUENCES = List.of("items_seq", "bookings_seq", "comments_seq");
+
+    @Bean
+    public static BeanFactoryPostProcessor shardingCompatibilityCheck(Environment environment) {
+        return beanFactory -> {
+            if (!environment.containsProperty("shareit.sharding.shards[0].url")) {
+                return;
+            }
+            if (environment.containsProperty("shareit.datasource.replicas[0].url")) {
+                throw new IllegalStateException("shareit.sharding.shards and shareit.datasource.replicas "
+                        + "cannot be configured together, remove one of them");
+            }
+            if ("index".equals(environment.getProperty("shareit.item.search.mode"))) {
+                throw new IllegalStateException("shareit.item.search.mode=index reads only the global database "
+                        + "and cannot be used with shareit.sharding.shards, use mode db");
+            }
+        };
+    }
+
+    @Bean
+    public ShardMap shardMap(ShardProperties properties) {
+        return ShardMap.of(properties);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "shareit.sharding.shards[0]", name = "url")
+    public ShardRoutingDataSource shardRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                         ShardProperties properties,
+                                                         ObjectProvider<SqlInitializationProperties> sqlInit) {
+        HikariDataSource global = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        global.setPoolName(ShardMap.GLOBAL);
+
+        Map<String, DataSource> ownerShards = new LinkedHashMap<>();
+        List<ShardProperties.Shard> configured = properties.getShards();
+        for (int i = 0; i < configured.size(); i++) {
+            ShardProperties.Shard shard = configured.get(i);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.getUrl())
+                    .username(shard.getUsername() != null ? shard.getUsername() : dataSourceProperties.determineUsername())
+                    .password(shard.getPassword() != null ? shard.getPassword() : dataSourceProperties.determinePassword())
+                    .build();
+            dataSource.setPoolName(ShardMap.shardName(i));
+            dataSource.setMaximumPoolSize(shard.getMaxPoolSize());
+            createOwnerSequences(dataSource, ShardMap.idBase(i));
+            sqlInit.ifAvailable(init -> initializeSchema(dataSource, init));
+            ownerShards.put(dataSource.getPoolName(), dataSource);
+        }
+        return new ShardRoutingDataSource(global, ownerShards);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(prefix = "shareit.sharding.shards[0]", name = "url")
+    public DataSource shardedDataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "shareit.sharding.shards[0]", name = "url")
+    public HibernatePropertiesCustomizer shardTenantCustomizer() {
+        return properties -> properties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER,
+                new ShardTenantIdentifierResolver());
+    }
+
+    private void createOwnerSequences(DataSource dataSource, long idBase) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        OWNER_SEQUENCES.forEach(sequence -> jdbc.execute("CREATE SEQUENCE IF NOT EXISTS " + sequence
+                + " START WITH " + (idBase + 50) + " INCREMENT BY 50"));
+    }
+
+    private void initializeSchema(DataSource dataSource, SqlInitializationProperties init) {
+        DatabaseInitializationSettings settings = new DatabaseInitializationSettings();
+        settings.setSchemaLocations(init.getSchemaLocations());
+        settings.setMode(init.getMode());
+        settings.setEncoding(init.getEncoding());
+        settings.setSeparator(init.getSeparator());
+        settings.setContinueOnError(init.isContinueOnError());
+        new DataSourceScriptDatabaseInitializer(dataSource, settings).initializeDatabase();
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.item.dto.BookingShortDto;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class ItemBookings {
+    private final BookingShortDto last;
+    private final BookingShortDto next;
+    private final LocalDateTime nextStart;
+
+    public boolean isStale(LocalDateTime now) {
+        return nextStart != null && !now.isBefore(nextStart);
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+
+@Getter
+@AllArgsConstructor
+public class ItemDetail {
+    private final Long ownerId;
+    private final ItemResponseDto item;
+}
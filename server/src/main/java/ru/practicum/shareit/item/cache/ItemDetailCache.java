@@ -0,0 +1,97 @@
+package ru.practicum.shareit.item.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
+import ru.practicum.shareit.item.dto.BookingShortDto;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.event.CommentAddedEvent;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+import ru.practicum.shareit.user.event.UserUpdatedEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+@Component
+public class ItemDetailCache {
+
+    private final Cache<Long, ItemDetail> details;
+    private final Cache<Long, ItemBookings> bookings;
+
+    public ItemDetailCache(MeterRegistry meterRegistry,
+                           @Value("${shareit.cache.items.max-size:10000}") long maxSize,
+                           @Value("${shareit.cache.items.ttl:PT10M}") Duration ttl) {
+        this.details = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.bookings = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, details, "item-details");
+        CaffeineCacheMetrics.monitor(meterRegistry, bookings, "item-bookings");
+    }
+
+    public ItemDetail getDetail(Long itemId, Function<Long, ItemDetail> loader) {
+        return details.get(itemId, loader);
+    }
+
+    public ItemBookings getBookings(Long itemId, Function<Long, ItemBookings> loader) {
+        ItemBookings cached = bookings.get(itemId, loader);
+        if (cached.isStale(LocalDateTime.now())) {
+            bookings.invalidate(itemId);
+            cached = bookings.get(itemId, loader);
+        }
+        return cached;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onItemSaved(ItemSavedEvent event) {
+        details.invalidate(event.getItem().getId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCommentAdded(CommentAddedEvent event) {
+        details.invalidate(event.getItemId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        bookings.invalidate(event.getItemId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserUpdated(UserUpdatedEvent event) {
+        Long userId = event.getUserId();
+        details.asMap().values().removeIf(detail -> userId.equals(detail.getOwnerId()) || commentedBy(detail, userId));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        Long userId = event.getUserId();
+        details.invalidateAll();
+        bookings.asMap().values().removeIf(window -> bookedBy(window.getLast(), userId)
+                || bookedBy(window.getNext(), userId));
+    }
+
+    private boolean commentedBy(ItemDetail detail, Long userId) {
+        List<CommentDto> comments = detail.getItem().getComments();
+        return comments != null && comments.stream().anyMatch(comment -> userId.equals(comment.getAuthorId()));
+    }
+
+    private boolean bookedBy(BookingShortDto booking, Long userId) {
+        return booking != null && userId.equals(booking.getBookerId());
+    }
+}
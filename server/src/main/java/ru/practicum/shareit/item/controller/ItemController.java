@@ -2,15 +2,19 @@ package ru.practicum.shareit.item.controller;
 
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.common.HeaderConstants;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController("itemControllerBean")
@@ -33,6 +37,12 @@ public class ItemController {
         return ResponseEntity.ok(created);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<ItemDto>> createAll(@RequestHeader(HeaderConstants.X_SHARER_USER_ID) Long userId,
+                                                   @RequestBody List<ItemDto> items) {
+        return ResponseEntity.ok(service.createAll(userId, items));
+    }
+
     @PatchMapping("/{itemId}")
     public ResponseEntity<ItemDto> update(@RequestHeader(HeaderConstants.X_SHARER_USER_ID) Long userId,
                                           @PathVariable Long itemId,
@@ -43,9 +53,14 @@ public class ItemController {
 
     @GetMapping("/{itemId}")
     public ResponseEntity<ItemResponseDto> getById(@RequestHeader(HeaderConstants.X_SHARER_USER_ID) Long userId,
-                                                   @PathVariable Long itemId) {
+                                                   @PathVariable Long itemId,
+                                                   WebRequest request) {
+        String etag = service.getVersionTag(userId, itemId);
+        if (etag != null && request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         ItemResponseDto response = service.getById(userId, itemId);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(etag).body(response);
     }
 
     @GetMapping
@@ -64,6 +79,15 @@ public class ItemController {
         return ResponseEntity.ok(result);
     }
 
+    @GetMapping("/{itemId}/comments")
+    public ResponseEntity<List<CommentDto>> getComments(@PathVariable Long itemId,
+                                                        @RequestParam(required = false)
+                                                        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before,
+                                                        @RequestParam(required = false) Long beforeId,
+                                                        @RequestParam(defaultValue = "10") @Positive int size) {
+        return ResponseEntity.ok(service.getComments(itemId, before, beforeId, size));
+    }
+
     @PostMapping("/{itemId}/comment")
     public ResponseEntity<CommentDto> addComment(@RequestHeader(HeaderConstants.X_SHARER_USER_ID) Long userId,
                                                  @PathVariable Long itemId,
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.item.dto.CommentDto;
+
+@Getter
+@AllArgsConstructor
+public class CommentAddedEvent {
+    private final Long itemId;
+    private final CommentDto comment;
+}
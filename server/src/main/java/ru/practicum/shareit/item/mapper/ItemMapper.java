@@ -18,6 +18,7 @@ public interface ItemMapper {
     ItemDto toDto(Item item);
 
     @Mapping(target = "owner", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Item toModel(ItemDto dto);
 
     default ItemResponseDto toResponseDto(Item i, BookingShortDto last, BookingShortDto next, List<CommentDto> comments) {
@@ -14,7 +14,8 @@ import ru.practicum.shareit.user.model.User;
 public class Item {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "items_seq")
+    @SequenceGenerator(name = "items_seq", sequenceName = "items_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 255)
@@ -32,4 +33,8 @@ public class Item {
 
     @Column(name = "request_id")
     private Long requestId;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
 }
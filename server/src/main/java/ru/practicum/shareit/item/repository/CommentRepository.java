@@ -1,13 +1,46 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    List<Comment> findByItem_IdOrderByCreatedDesc(Long itemId);
+    @Query("select c from Comment c join fetch c.author " +
+            "where c.item.id = :itemId " +
+            "order by c.created desc, c.id desc")
+    List<Comment> findByItem_IdOrderByCreatedDesc(Long itemId, Pageable pageable);
+
+    @Query("select c from Comment c join fetch c.author " +
+            "where c.item.id = :itemId" +
+            " and (c.created < :before or (c.created = :before and c.id < :beforeId)) " +
+            "order by c.created desc, c.id desc")
+    List<Comment> findByItem_IdBefore(Long itemId, LocalDateTime before, Long beforeId, Pageable pageable);
+
+    long countByItem_Id(Long itemId);
+
+    @Query(value = "select c.id as \"id\", c.item_id as \"itemId\" from (" +
+            " select id, item_id," +
+            " row_number() over (partition by item_id order by created desc, id desc) as rn" +
+            " from comments" +
+            " where item_id in (:itemIds)) c " +
+            "where c.rn <= :limit", nativeQuery = true)
+    List<CommentWindowView> findWindowByItemIds(Collection<Long> itemIds, int limit);
+
+    @Query("select c.item.id as itemId, count(c) as total, max(c.created) as latest from Comment c " +
+            "where c.item.id in :itemIds " +
+            "group by c.item.id")
+    List<CommentStatsView> findStatsByItemIds(Collection<Long> itemIds);
+
+    @Query("select c from Comment c join fetch c.author " +
+            "where c.id in :ids " +
+            "order by c.created desc, c.id desc")
+    List<Comment> findWithAuthorByIdIn(Collection<Long> ids);
 }
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.item.repository;
+
+import java.time.LocalDateTime;
+
+public interface CommentStatsView {
+    Long getItemId();
+
+    Long getTotal();
+
+    LocalDateTime getLatest();
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.item.repository;
+
+public interface CommentWindowView {
+    Long getId();
+
+    Long getItemId();
+}
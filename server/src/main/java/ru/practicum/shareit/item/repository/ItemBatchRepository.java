@@ -0,0 +1,46 @@
+package ru.practicum.shareit.item.repository;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSummary;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+public class ItemBatchRepository {
+    private final EntityManager entityManager;
+    private final int batchSize;
+
+    public ItemBatchRepository(EntityManager entityManager,
+                               @Value("${shareit.item.import.batch-size:500}") int batchSize) {
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+    }
+
+    public List<Long> insertAll(Long ownerId, List<ItemDto> items) {
+        List<Long> ids = new ArrayList<>(items.size());
+        for (int from = 0; from < items.size(); from += batchSize) {
+            User owner = entityManager.getReference(User.class, ownerId);
+            for (ItemDto dto : items.subList(from, Math.min(from + batchSize, items.size()))) {
+                Item item = Item.builder()
+                        .name(dto.getName())
+                        .description(dto.getDescription())
+                        .available(dto.getAvailable())
+                        .owner(owner)
+                        .requestId(dto.getRequestId())
+                        .build();
+                entityManager.persist(item);
+                entityManager.persist(ItemSummary.builder().item(item).build());
+                ids.add(item.getId());
+            }
+            entityManager.flush();
+            entityManager.clear();
+        }
+        return ids;
+    }
+}
@@ -1,32 +1,42 @@
 package ru.practicum.shareit.item.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    Page<Item> findAllByOwner_Id(Long ownerId, Pageable pageable);
+    Slice<Item> findAllByOwner_Id(Long ownerId, Pageable pageable);
+
+    @Query("select i.version as version, i.owner.id as ownerId, " +
+            "(select count(c) from Comment c where c.item.id = i.id) as commentCount, " +
+            "(select coalesce(max(c.id), 0) from Comment c where c.item.id = i.id) as lastCommentId, " +
+            "(select coalesce(sum(a.version), 0) from Comment c join c.author a where c.item.id = i.id) as authorVersions " +
+            "from Item i where i.id = :id")
+    Optional<ItemVersionView> findVersionById(Long id);
 
     List<Item> findAllByOwner_Id(Long ownerId);
 
     @Query("select i from Item i " +
             "where i.available = true and (" +
             " upper(i.name) like upper(concat('%', :text, '%')) " +
-            " or upper(i.description) like upper(concat('%', :text, '%')) )")
+            " or upper(i.description) like upper(concat('%', :text, '%')) ) " +
+            "order by case " +
+            " when upper(i.name) = upper(:text) then 0 " +
+            " when upper(i.name) like upper(concat(:text, '%')) then 1 " +
+            " when upper(i.name) like upper(concat('%', :text, '%')) then 2 " +
+            " else 3 end, i.id")
     List<Item> search(String text, Pageable pageable);
 
-    @Query("select i from Item i " +
-            "where i.available = true and (" +
-            " upper(i.name) like upper(concat('%', :text, '%')) " +
-            " or upper(i.description) like upper(concat('%', :text, '%')) )")
-    List<Item> search(String text);
-
     List<Item> findByRequestId(Long requestId);
+
+    List<Item> findByRequestIdIn(Collection<Long> requestIds);
 }
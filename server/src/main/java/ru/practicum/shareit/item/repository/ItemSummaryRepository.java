@@ -0,0 +1,32 @@
+package ru.practicum.shareit.item.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.model.ItemSummary;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ItemSummaryRepository extends JpaRepository<ItemSummary, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ItemSummary s where s.itemId in :itemIds order by s.itemId")
+    List<ItemSummary> findAllForUpdate(Collection<Long> itemIds);
+
+    @Query("select s.itemId from ItemSummary s where s.nextStart <= :now order by s.nextStart")
+    List<Long> findItemIdsWithNextStartedBefore(LocalDateTime now, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ItemSummary s set s.commentCount = s.commentCount + 1, " +
+            "s.latestCommentAt = case when s.latestCommentAt is null or s.latestCommentAt < :created " +
+            "then :created else s.latestCommentAt end " +
+            "where s.itemId = :itemId")
+    int incrementComments(Long itemId, LocalDateTime created);
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item.repository;
+
+public interface ItemVersionView {
+    Long getVersion();
+
+    Long getOwnerId();
+
+    Long getCommentCount();
+
+    Long getLastCommentId();
+
+    Long getAuthorVersions();
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.config.ShardExecutor;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item.search.mode", havingValue = "db", matchIfMissing = true)
+public class DatabaseItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepo;
+    private final ItemMapper itemMapper;
+    private final ShardExecutor shardExecutor;
+
+    @Override
+    public List<ItemDto> search(String text, int from, int size) {
+        return shardExecutor.gather(pageable -> itemRepo.search(text, pageable).stream()
+                        .map(itemMapper::toDto)
+                        .collect(Collectors.toList()),
+                ItemSearchRanking.byRelevance(text), from, size);
+    }
+}
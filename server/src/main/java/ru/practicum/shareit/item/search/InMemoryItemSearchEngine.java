@@ -0,0 +1,123 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+@Component
+@ConditionalOnProperty(name = "shareit.item.search.mode", havingValue = "index")
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final ItemRepository itemRepo;
+    private final ItemMapper itemMapper;
+
+    private final Map<String, NavigableSet<Long>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, ItemDto> documents = new ConcurrentHashMap<>();
+
+    public InMemoryItemSearchEngine(ItemRepository itemRepo, ItemMapper itemMapper) {
+        this.itemRepo = itemRepo;
+        this.itemMapper = itemMapper;
+    }
+
+    @PostConstruct
+    public synchronized void rebuild() {
+        postings.clear();
+        documents.clear();
+        itemRepo.findAll().stream()
+                .map(itemMapper::toDto)
+                .forEach(this::index);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onItemSaved(ItemSavedEvent event) {
+        index(event.getItem());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onUserDeleted(UserDeletedEvent event) {
+        documents.values().stream()
+                .filter(item -> event.getUserId().equals(item.getOwnerId()))
+                .map(ItemDto::getId)
+                .toList()
+                .forEach(this::remove);
+    }
+
+    public synchronized void index(ItemDto item) {
+        remove(item.getId());
+        for (String gram : grams(item)) {
+            postings.computeIfAbsent(gram, g -> new ConcurrentSkipListSet<>()).add(item.getId());
+        }
+        documents.put(item.getId(), item);
+    }
+
+    public synchronized void remove(Long itemId) {
+        ItemDto previous = documents.remove(itemId);
+        if (previous == null) return;
+        for (String gram : grams(previous)) {
+            NavigableSet<Long> ids = postings.get(gram);
+            if (ids == null) continue;
+            ids.remove(itemId);
+            if (ids.isEmpty()) postings.remove(gram);
+        }
+    }
+
+    @Override
+    public List<ItemDto> search(String text, int from, int size) {
+        if (text == null || text.isEmpty()) return List.of();
+        String query = text.toUpperCase(Locale.ROOT);
+
+        Collection<Long> candidates = documents.keySet();
+        for (String gram : grams(query)) {
+            NavigableSet<Long> matches = postings.get(gram);
+            if (matches == null) return List.of();
+            Set<Long> narrowed = new HashSet<>(matches);
+            narrowed.retainAll(candidates);
+            candidates = narrowed;
+            if (candidates.isEmpty()) return List.of();
+        }
+
+        return candidates.stream()
+                .map(documents::get)
+                .filter(item -> item != null && Boolean.TRUE.equals(item.getAvailable()) && contains(item, query))
+                .sorted(ItemSearchRanking.byRelevance(text))
+                .skip((long) (from / size) * size)
+                .limit(size)
+                .collect(Collectors.toList());
+    }
+
+    private boolean contains(ItemDto item, String query) {
+        return upper(item.getName()).contains(query) || upper(item.getDescription()).contains(query);
+    }
+
+    private Set<String> grams(ItemDto item) {
+        Set<String> grams = grams(upper(item.getName()));
+        grams.addAll(grams(upper(item.getDescription())));
+        return grams;
+    }
+
+    private Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private String upper(String text) {
+        return text == null ? "" : text.toUpperCase(Locale.ROOT);
+    }
+}
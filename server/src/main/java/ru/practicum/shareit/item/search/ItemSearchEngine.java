@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+
+public interface ItemSearchEngine {
+    List<ItemDto> search(String text, int from, int size);
+}
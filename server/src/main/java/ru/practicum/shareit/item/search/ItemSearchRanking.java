@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.Comparator;
+import java.util.Locale;
+
+final class ItemSearchRanking {
+
+    private ItemSearchRanking() {
+    }
+
+    static Comparator<ItemDto> byRelevance(String text) {
+        String upperText = text.toUpperCase(Locale.ROOT);
+        return Comparator.comparingInt((ItemDto item) -> rank(item.getName(), upperText))
+                .thenComparing(ItemDto::getId);
+    }
+
+    static int rank(String name, String text) {
+        String upperName = name != null ? name.toUpperCase(Locale.ROOT) : "";
+        String upperText = text.toUpperCase(Locale.ROOT);
+        if (upperName.equals(upperText)) return 0;
+        if (upperName.startsWith(upperText)) return 1;
+        if (upperName.contains(upperText)) return 2;
+        return 3;
+    }
+}
@@ -4,20 +4,31 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface ItemService {
     ItemDto create(Long ownerId, ItemDto dto);
 
+    List<ItemDto> createAll(Long ownerId, List<ItemDto> dtos);
+
     ItemDto update(Long ownerId, Long itemId, ItemDto dto);
 
     ItemResponseDto getById(Long requesterId, Long itemId);
 
+    String getVersionTag(Long requesterId, Long itemId);
+
     List<ItemResponseDto> getByOwner(Long ownerId, int from, int size);
 
     List<ItemDto> search(String text, int from, int size);
 
     List<ItemDto> getByRequestId(Long requestId);
 
+    Map<Long, List<ItemDto>> getByRequestIds(Collection<Long> requestIds);
+
+    List<CommentDto> getComments(Long itemId, LocalDateTime before, Long beforeId, int size);
+
     CommentDto addComment(Long authorId, Long itemId, CommentDto dto);
 }
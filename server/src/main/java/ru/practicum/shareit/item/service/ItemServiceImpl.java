@@ -1,8 +1,10 @@
 package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.model.Booking;
@@ -10,21 +12,36 @@ import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.cache.ItemBookings;
+import ru.practicum.shareit.item.cache.ItemDetail;
+import ru.practicum.shareit.item.cache.ItemDetailCache;
 import ru.practicum.shareit.item.dto.BookingShortDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.event.CommentAddedEvent;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSummary;
 import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.CommentWindowView;
+import ru.practicum.shareit.item.repository.ItemBatchRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemVersionView;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
+import ru.practicum.shareit.user.cache.UserCache;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -34,22 +51,64 @@ import java.util.stream.Collectors;
 public class ItemServiceImpl implements ItemService {
 
     private final ItemRepository itemRepo;
+    private final ItemBatchRepository itemBatchRepo;
     private final UserRepository userRepo;
+    private final UserCache userCache;
     private final CommentRepository commentRepo;
     private final BookingRepository bookingRepo;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
+    private final ItemSearchEngine searchEngine;
+    private final ItemDetailCache itemDetailCache;
+    private final ItemSummaryService itemSummaryService;
+    private final ApplicationEventPublisher eventPublisher;
+    private int commentWindow = 10;
+
+    @Value("${shareit.item.comments.window:10}")
+    public void setCommentWindow(int commentWindow) {
+        if (commentWindow < 1) {
+            throw new IllegalArgumentException("shareit.item.comments.window must be at least 1");
+        }
+        this.commentWindow = commentWindow;
+    }
 
     @Override
     @Transactional
     public ItemDto create(Long ownerId, ItemDto dto) {
-        User owner = userRepo.findById(ownerId)
-                .orElseThrow(() -> new NotFoundException("User not found: " + ownerId));
+        if (!userCache.exists(ownerId)) throw new NotFoundException("User not found: " + ownerId);
 
         Item item = itemMapper.toModel(dto);
-        item.setOwner(owner);
+        item.setOwner(userRepo.getReferenceById(ownerId));
         Item saved = itemRepo.save(item);
-        return itemMapper.toDto(saved);
+        itemSummaryService.createFor(saved);
+        ItemDto result = itemMapper.toDto(saved);
+        eventPublisher.publishEvent(new ItemSavedEvent(result));
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public List<ItemDto> createAll(Long ownerId, List<ItemDto> dtos) {
+        if (dtos == null || dtos.isEmpty()) throw new BadRequestException("At least one item must be provided");
+        if (!userCache.exists(ownerId)) throw new NotFoundException("User not found: " + ownerId);
+        for (int i = 0; i < dtos.size(); i++) {
+            ItemDto dto = dtos.get(i);
+            if (dto == null || dto.getName() == null || dto.getName().isBlank()
+                    || dto.getDescription() == null || dto.getAvailable() == null) {
+                throw new BadRequestException("Item #" + i + " must have name, description and available");
+            }
+        }
+
+        List<Long> ids = itemBatchRepo.insertAll(ownerId, dtos);
+        List<ItemDto> result = new ArrayList<>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            ItemDto dto = dtos.get(i);
+            ItemDto created = new ItemDto(ids.get(i), dto.getName(), dto.getDescription(), dto.getAvailable(),
+                    dto.getRequestId(), ownerId);
+            eventPublisher.publishEvent(new ItemSavedEvent(created));
+            result.add(created);
+        }
+        return result;
     }
 
     @Override
@@ -66,48 +125,78 @@ public class ItemServiceImpl implements ItemService {
         if (dto.getAvailable() != null) item.setAvailable(dto.getAvailable());
 
         Item saved = itemRepo.save(item);
-        return itemMapper.toDto(saved);
+        ItemDto result = itemMapper.toDto(saved);
+        eventPublisher.publishEvent(new ItemSavedEvent(result));
+        return result;
     }
 
     @Override
     public ItemResponseDto getById(Long requesterId, Long itemId) {
+        ItemDetail detail = itemDetailCache.getDetail(itemId, this::loadDetail);
+        ItemResponseDto item = detail.getItem();
+
+        BookingShortDto lastShort = null;
+        BookingShortDto nextShort = null;
+
+        if (detail.getOwnerId() != null && detail.getOwnerId().equals(requesterId)) {
+            ItemBookings bookings = itemDetailCache.getBookings(itemId, this::loadBookings);
+            lastShort = bookings.getLast();
+            nextShort = bookings.getNext();
+        }
+
+        return new ItemResponseDto(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                item.getRequestId(), lastShort, nextShort, item.getComments(), item.getCommentCount());
+    }
+
+    @Override
+    public String getVersionTag(Long requesterId, Long itemId) {
+        ItemVersionView view = itemRepo.findVersionById(itemId)
+                .orElseThrow(() -> new NotFoundException("Item not found: " + itemId));
+        if (view.getOwnerId().equals(requesterId)) {
+            return null;
+        }
+        return "item-" + itemId + "-" + view.getVersion() + "-" + view.getCommentCount() + "-"
+                + view.getLastCommentId() + "-" + view.getAuthorVersions();
+    }
+
+    private ItemDetail loadDetail(Long itemId) {
         Item item = itemRepo.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Item not found: " + itemId));
 
-        List<Comment> comments = commentRepo.findByItem_IdOrderByCreatedDesc(itemId);
-        List<CommentDto> commentDtos = comments.stream()
+        List<CommentDto> commentDtos = commentRepo.findByItem_IdOrderByCreatedDesc(itemId, PageRequest.of(0, commentWindow))
+                .stream()
                 .map(commentMapper::toDto)
-                .collect(Collectors.toList());
+                .toList();
+        long commentCount = commentDtos.size() < commentWindow ? commentDtos.size() : commentRepo.countByItem_Id(itemId);
 
-        BookingShortDto lastShort = null;
-        BookingShortDto nextShort = null;
+        Long ownerId = item.getOwner() != null ? item.getOwner().getId() : null;
+        ItemResponseDto response = itemMapper.toResponseDto(item, null, null, commentDtos);
+        response.setCommentCount(commentCount);
+        return new ItemDetail(ownerId, response);
+    }
 
-        if (item.getOwner() != null && item.getOwner().getId().equals(requesterId)) {
-            LocalDateTime now = LocalDateTime.now();
+    private ItemBookings loadBookings(Long itemId) {
+        LocalDateTime now = LocalDateTime.now();
 
-            Optional<Booking> lastOpt = bookingRepo.findFirstByItem_IdAndStatusAndStartBeforeOrderByStartDesc(
-                    itemId, BookingStatus.APPROVED, now);
-            Optional<Booking> nextOpt = bookingRepo.findFirstByItem_IdAndStatusAndStartAfterOrderByStartAsc(
-                    itemId, BookingStatus.APPROVED, now);
+        Optional<Booking> lastOpt = bookingRepo.findFirstByItem_IdAndStatusAndStartBeforeOrderByStartDesc(
+                itemId, BookingStatus.APPROVED, now);
+        Optional<Booking> nextOpt = bookingRepo.findFirstByItem_IdAndStatusAndStartAfterOrderByStartAsc(
+                itemId, BookingStatus.APPROVED, now);
 
-            if (lastOpt.isPresent()) {
-                Booking last = lastOpt.get();
-                Long lastBookerId = last.getBooker() != null ? last.getBooker().getId() : null;
-                lastShort = new BookingShortDto(last.getId(), lastBookerId);
-            }
-            if (nextOpt.isPresent()) {
-                Booking next = nextOpt.get();
-                Long nextBookerId = next.getBooker() != null ? next.getBooker().getId() : null;
-                nextShort = new BookingShortDto(next.getId(), nextBookerId);
-            }
-        }
+        BookingShortDto lastShort = lastOpt.map(this::toShort).orElse(null);
+        BookingShortDto nextShort = nextOpt.map(this::toShort).orElse(null);
+        LocalDateTime nextStart = nextOpt.map(Booking::getStart).orElse(null);
+        return new ItemBookings(lastShort, nextShort, nextStart);
+    }
 
-        return itemMapper.toResponseDto(item, lastShort, nextShort, commentDtos);
+    private BookingShortDto toShort(Booking booking) {
+        Long bookerId = booking.getBooker() != null ? booking.getBooker().getId() : null;
+        return new BookingShortDto(booking.getId(), bookerId);
     }
 
     @Override
     public List<ItemResponseDto> getByOwner(Long ownerId, int from, int size) {
-        userRepo.findById(ownerId).orElseThrow(() -> new NotFoundException("User not found: " + ownerId));
+        if (!userCache.exists(ownerId)) throw new NotFoundException("User not found: " + ownerId);
 
         if (from < 0) from = 0;
         if (size <= 0) throw new BadRequestException("size must be positive");
@@ -115,39 +204,38 @@ public class ItemServiceImpl implements ItemService {
         int page = from / size;
         PageRequest pageRequest = PageRequest.of(page, size);
 
-        Page<Item> itemsPage = itemRepo.findAllByOwner_Id(ownerId, pageRequest);
-
-        LocalDateTime now = LocalDateTime.now();
+        Slice<Item> itemsPage = itemRepo.findAllByOwner_Id(ownerId, pageRequest);
+        List<Item> items = itemsPage.getContent();
+        if (items.isEmpty()) return List.of();
 
-        List<ItemResponseDto> result = itemsPage.getContent().stream().map(item -> {
-            Long itemId = item.getId();
+        List<Long> itemIds = items.stream().map(Item::getId).collect(Collectors.toList());
+        Map<Long, ItemSummary> summaries = itemSummaryService.getSummaries(itemIds);
 
-            BookingShortDto lastShort = null;
-            BookingShortDto nextShort = null;
-
-            Optional<Booking> lastOpt = bookingRepo.findFirstByItem_IdAndStatusAndStartBeforeOrderByStartDesc(
-                    itemId, BookingStatus.APPROVED, now);
-            Optional<Booking> nextOpt = bookingRepo.findFirstByItem_IdAndStatusAndStartAfterOrderByStartAsc(
-                    itemId, BookingStatus.APPROVED, now);
-
-            if (lastOpt.isPresent()) {
-                Booking last = lastOpt.get();
-                Long lastBookerId = last.getBooker() != null ? last.getBooker().getId() : null;
-                lastShort = new BookingShortDto(last.getId(), lastBookerId);
-            }
-            if (nextOpt.isPresent()) {
-                Booking next = nextOpt.get();
-                Long nextBookerId = next.getBooker() != null ? next.getBooker().getId() : null;
-                nextShort = new BookingShortDto(next.getId(), nextBookerId);
-            }
-
-            List<Comment> comments = commentRepo.findByItem_IdOrderByCreatedDesc(itemId);
-            List<CommentDto> commentDtos = comments.stream().map(commentMapper::toDto).collect(Collectors.toList());
+        List<Long> commentedIds = itemIds.stream()
+                .filter(id -> summaries.containsKey(id) && summaries.get(id).getCommentCount() > 0)
+                .toList();
+        Map<Long, List<CommentDto>> commentsByItem = commentedIds.isEmpty() ? Map.of()
+                : commentRepo.findWithAuthorByIdIn(commentRepo.findWindowByItemIds(commentedIds, commentWindow).stream()
+                        .map(CommentWindowView::getId)
+                        .toList()).stream()
+                .map(commentMapper::toDto)
+                .collect(Collectors.groupingBy(CommentDto::getItemId));
 
-            return itemMapper.toResponseDto(item, lastShort, nextShort, commentDtos);
-        }).collect(Collectors.toList());
+        return items.stream()
+                .map(item -> {
+                    ItemSummary summary = summaries.get(item.getId());
+                    ItemResponseDto response = itemMapper.toResponseDto(item,
+                            summary != null ? toShort(summary.getLastBookingId(), summary.getLastBookerId()) : null,
+                            summary != null ? toShort(summary.getNextBookingId(), summary.getNextBookerId()) : null,
+                            commentsByItem.getOrDefault(item.getId(), List.of()));
+                    response.setCommentCount(summary != null ? summary.getCommentCount() : 0L);
+                    return response;
+                })
+                .collect(Collectors.toList());
+    }
 
-        return result;
+    private BookingShortDto toShort(Long bookingId, Long bookerId) {
+        return bookingId != null ? new BookingShortDto(bookingId, bookerId) : null;
     }
 
     @Override
@@ -155,9 +243,22 @@ public class ItemServiceImpl implements ItemService {
         if (text == null || text.isBlank()) return List.of();
         if (from < 0) from = 0;
         if (size <= 0) throw new BadRequestException("size must be positive");
-        int page = from / size;
-        List<Item> found = itemRepo.search(text, PageRequest.of(page, size));
-        return found.stream().map(itemMapper::toDto).collect(Collectors.toList());
+        return searchEngine.search(text, from, size);
+    }
+
+    @Override
+    public List<CommentDto> getComments(Long itemId, LocalDateTime before, Long beforeId, int size) {
+        if (size <= 0) throw new BadRequestException("size must be positive");
+        if ((before == null) != (beforeId == null)) throw new BadRequestException("before and beforeId must be provided together");
+        if (!itemRepo.existsById(itemId)) throw new NotFoundException("Item not found: " + itemId);
+
+        PageRequest pageRequest = PageRequest.of(0, size);
+        List<Comment> comments = before == null
+                ? commentRepo.findByItem_IdOrderByCreatedDesc(itemId, pageRequest)
+                : commentRepo.findByItem_IdBefore(itemId, before, beforeId, pageRequest);
+        return comments.stream()
+                .map(commentMapper::toDto)
+                .toList();
     }
 
     @Override
@@ -182,7 +283,10 @@ public class ItemServiceImpl implements ItemService {
         comment.setCreated(now);
 
         Comment saved = commentRepo.save(comment);
-        return commentMapper.toDto(saved);
+        itemSummaryService.recordComment(itemId, now);
+        CommentDto result = commentMapper.toDto(saved);
+        eventPublisher.publishEvent(new CommentAddedEvent(itemId, result));
+        return result;
     }
 
     @Override
@@ -192,4 +296,12 @@ public class ItemServiceImpl implements ItemService {
                 .map(itemMapper::toDto)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public Map<Long, List<ItemDto>> getByRequestIds(Collection<Long> requestIds) {
+        if (requestIds == null || requestIds.isEmpty()) return Map.of();
+        return itemRepo.findByRequestIdIn(requestIds).stream()
+                .map(itemMapper::toDto)
+                .collect(Collectors.groupingBy(ItemDto::getRequestId));
+    }
 }
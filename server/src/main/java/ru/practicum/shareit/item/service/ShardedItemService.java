@@ -0,0 +1,84 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.config.ShardExecutor;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Primary
+@RequiredArgsConstructor
+public class ShardedItemService implements ItemService {
+
+    private final ItemServiceImpl delegate;
+    private final ShardExecutor shardExecutor;
+
+    @Override
+    public ItemDto create(Long ownerId, ItemDto dto) {
+        return shardExecutor.onOwnerShard(ownerId, () -> delegate.create(ownerId, dto));
+    }
+
+    @Override
+    public List<ItemDto> createAll(Long ownerId, List<ItemDto> dtos) {
+        return shardExecutor.onOwnerShard(ownerId, () -> delegate.createAll(ownerId, dtos));
+    }
+
+    @Override
+    public ItemDto update(Long ownerId, Long itemId, ItemDto dto) {
+        return shardExecutor.onShardOf(itemId, () -> delegate.update(ownerId, itemId, dto));
+    }
+
+    @Override
+    public ItemResponseDto getById(Long requesterId, Long itemId) {
+        return shardExecutor.onShardOf(itemId, () -> delegate.getById(requesterId, itemId));
+    }
+
+    @Override
+    public String getVersionTag(Long requesterId, Long itemId) {
+        return shardExecutor.onShardOf(itemId, () -> delegate.getVersionTag(requesterId, itemId));
+    }
+
+    @Override
+    public List<ItemResponseDto> getByOwner(Long ownerId, int from, int size) {
+        return shardExecutor.onOwnerShard(ownerId, () -> delegate.getByOwner(ownerId, from, size));
+    }
+
+    @Override
+    public List<ItemDto> search(String text, int from, int size) {
+        return delegate.search(text, from, size);
+    }
+
+    @Override
+    public List<ItemDto> getByRequestId(Long requestId) {
+        return shardExecutor.collect(() -> delegate.getByRequestId(requestId));
+    }
+
+    @Override
+    public Map<Long, List<ItemDto>> getByRequestIds(Collection<Long> requestIds) {
+        Map<Long, List<ItemDto>> merged = new HashMap<>();
+        shardExecutor.collect(() -> new ArrayList<>(delegate.getByRequestIds(requestIds).entrySet()))
+                .forEach(entry -> merged.computeIfAbsent(entry.getKey(), key -> new ArrayList<>())
+                        .addAll(entry.getValue()));
+        return merged;
+    }
+
+    @Override
+    public List<CommentDto> getComments(Long itemId, LocalDateTime before, Long beforeId, int size) {
+        return shardExecutor.onShardOf(itemId, () -> delegate.getComments(itemId, before, beforeId, size));
+    }
+
+    @Override
+    public CommentDto addComment(Long authorId, Long itemId, CommentDto dto) {
+        return shardExecutor.onShardOf(itemId, () -> delegate.addComment(authorId, itemId, dto));
+    }
+}
@@ -0,0 +1,144 @@
+package ru.practicum.shareit.item.summary;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.ItemBookingView;
+import ru.practicum.shareit.config.ShardExecutor;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSummary;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.CommentStatsView;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemSummaryRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional(readOnly = true)
+public class ItemSummaryService {
+
+    private final ItemSummaryRepository summaryRepo;
+    private final ItemRepository itemRepo;
+    private final BookingRepository bookingRepo;
+    private final CommentRepository commentRepo;
+    private final ShardExecutor shardExecutor;
+    private final int refreshBatchSize;
+
+    public ItemSummaryService(ItemSummaryRepository summaryRepo,
+                              ItemRepository itemRepo,
+                              BookingRepository bookingRepo,
+                              CommentRepository commentRepo,
+                              ShardExecutor shardExecutor,
+                              @Value("${shareit.item.summary.refresh-batch-size:500}") int refreshBatchSize) {
+        this.summaryRepo = summaryRepo;
+        this.itemRepo = itemRepo;
+        this.bookingRepo = bookingRepo;
+        this.commentRepo = commentRepo;
+        this.shardExecutor = shardExecutor;
+        this.refreshBatchSize = refreshBatchSize;
+    }
+
+    @Transactional
+    public void createFor(Item item) {
+        summaryRepo.save(ItemSummary.builder().item(item).build());
+    }
+
+    public Map<Long, ItemSummary> getSummaries(Collection<Long> itemIds) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ItemSummary> summaries = summaryRepo.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(ItemSummary::getItemId, Function.identity()));
+        List<Long> stale = itemIds.stream()
+                .filter(id -> !summaries.containsKey(id) || isStale(summaries.get(id), now))
+                .toList();
+        if (!stale.isEmpty()) {
+            summaries.putAll(compute(stale, now));
+        }
+        return summaries;
+    }
+
+    @Transactional
+    public void refresh(Collection<Long> itemIds) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ItemSummary> locked = summaryRepo.findAllForUpdate(itemIds).stream()
+                .collect(Collectors.toMap(ItemSummary::getItemId, Function.identity()));
+        compute(itemIds, now).forEach((itemId, fresh) -> {
+            ItemSummary summary = locked.get(itemId);
+            if (summary == null) {
+                fresh.setItem(itemRepo.getReferenceById(itemId));
+                fresh.setItemId(null);
+                summaryRepo.save(fresh);
+                return;
+            }
+            summary.setLastBookingId(fresh.getLastBookingId());
+            summary.setLastBookerId(fresh.getLastBookerId());
+            summary.setNextBookingId(fresh.getNextBookingId());
+            summary.setNextBookerId(fresh.getNextBookerId());
+            summary.setNextStart(fresh.getNextStart());
+            summary.setCommentCount(fresh.getCommentCount());
+            summary.setLatestCommentAt(fresh.getLatestCommentAt());
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.item.summary.refresh-interval:PT1M}")
+    @Transactional
+    public void rollStartedBookings() {
+        shardExecutor.onEachShard(() -> {
+            List<Long> itemIds = summaryRepo.findItemIdsWithNextStartedBefore(LocalDateTime.now(),
+                    PageRequest.of(0, refreshBatchSize));
+            if (!itemIds.isEmpty()) {
+                refresh(itemIds);
+            }
+        });
+    }
+
+    @Transactional
+    public void recordComment(Long itemId, LocalDateTime created) {
+        if (summaryRepo.incrementComments(itemId, created) == 0) {
+            refresh(List.of(itemId));
+        }
+    }
+
+    private boolean isStale(ItemSummary summary, LocalDateTime now) {
+        return summary.getNextStart() != null && !summary.getNextStart().isAfter(now);
+    }
+
+    private Map<Long, ItemSummary> compute(Collection<Long> itemIds, LocalDateTime now) {
+        Map<Long, ItemBookingView> last = byItem(bookingRepo.findLastApprovedByItemIds(itemIds, now));
+        Map<Long, ItemBookingView> next = byItem(bookingRepo.findNextApprovedByItemIds(itemIds, now));
+        Map<Long, CommentStatsView> comments = commentRepo.findStatsByItemIds(itemIds).stream()
+                .collect(Collectors.toMap(CommentStatsView::getItemId, Function.identity()));
+
+        Map<Long, ItemSummary> result = new HashMap<>();
+        for (Long itemId : itemIds) {
+            ItemBookingView lastBooking = last.get(itemId);
+            ItemBookingView nextBooking = next.get(itemId);
+            CommentStatsView stats = comments.get(itemId);
+            result.put(itemId, ItemSummary.builder()
+                    .itemId(itemId)
+                    .lastBookingId(lastBooking != null ? lastBooking.getId() : null)
+                    .lastBookerId(lastBooking != null ? lastBooking.getBookerId() : null)
+                    .nextBookingId(nextBooking != null ? nextBooking.getId() : null)
+                    .nextBookerId(nextBooking != null ? nextBooking.getBookerId() : null)
+                    .nextStart(nextBooking != null ? nextBooking.getStart() : null)
+                    .commentCount(stats != null ? stats.getTotal() : 0)
+                    .latestCommentAt(stats != null ? stats.getLatest() : null)
+                    .build());
+        }
+        return result;
+    }
+
+    private Map<Long, ItemBookingView> byItem(List<ItemBookingView> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(ItemBookingView::getItemId, Function.identity()));
+    }
+}
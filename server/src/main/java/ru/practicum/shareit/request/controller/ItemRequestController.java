@@ -2,9 +2,11 @@ package ru.practicum.shareit.request.controller;
 
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.common.HeaderConstants;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.service.ItemRequestService;
@@ -28,8 +30,13 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ItemRequestDto>> getByRequester(@RequestHeader(HeaderConstants.X_SHARER_USER_ID) Long userId) {
-        return ResponseEntity.ok(service.getByRequester(userId));
+    public ResponseEntity<List<ItemRequestDto>> getByRequester(@RequestHeader(HeaderConstants.X_SHARER_USER_ID) Long userId,
+                                                               @RequestParam(required = false) @PositiveOrZero Integer from,
+                                                               @RequestParam(required = false) @Positive Integer size) {
+        if (from == null && size == null) {
+            return ResponseEntity.ok(service.getByRequester(userId));
+        }
+        return ResponseEntity.ok(service.getByRequester(userId, from == null ? 0 : from, size == null ? 10 : size));
     }
 
     @GetMapping("/all")
@@ -41,7 +48,12 @@ public class ItemRequestController {
 
     @GetMapping("/{requestId}")
     public ResponseEntity<ItemRequestDto> getById(@RequestHeader(HeaderConstants.X_SHARER_USER_ID) Long userId,
-                                                  @PathVariable Long requestId) {
-        return ResponseEntity.ok(service.getById(userId, requestId));
+                                                  @PathVariable Long requestId,
+                                                  WebRequest request) {
+        String etag = service.getVersionTag(userId, requestId);
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(service.getById(userId, requestId));
     }
 }
@@ -14,5 +14,6 @@ public interface ItemRequestMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "requesterId", ignore = true)
     @Mapping(target = "created", ignore = true)
+    @Mapping(target = "version", ignore = true)
     ItemRequest toModel(ItemRequestDto dto);
 }
\ No newline at end of file
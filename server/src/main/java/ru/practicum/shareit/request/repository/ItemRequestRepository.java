@@ -1,16 +1,34 @@
 package ru.practicum.shareit.request.repository;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
     List<ItemRequest> findByRequesterIdOrderByCreatedDesc(Long requesterId);
 
-    Page<ItemRequest> findByRequesterIdNot(Long requesterId, Pageable pageable);
+    List<ItemRequest> findByRequesterIdOrderByCreatedDesc(Long requesterId, Pageable pageable);
+
+    Slice<ItemRequest> findByRequesterIdNot(Long requesterId, Pageable pageable);
+
+    @Query("select r.version as version, " +
+            "(select count(i) from Item i where i.requestId = r.id) as itemCount, " +
+            "(select coalesce(max(i.id), 0) from Item i where i.requestId = r.id) as lastItemId, " +
+            "(select coalesce(sum(i.version), 0) from Item i where i.requestId = r.id) as itemVersions " +
+            "from ItemRequest r where r.id = :id")
+    Optional<ItemRequestVersionView> findVersionById(Long id);
+
+    @Modifying
+    @Query(value = "insert into item_requests (id, description, requester_id, created, version) " +
+            "values (:id, :description, :requesterId, :created, :version)", nativeQuery = true)
+    void insertCopy(Long id, String description, Long requesterId, LocalDateTime created, Long version);
 }
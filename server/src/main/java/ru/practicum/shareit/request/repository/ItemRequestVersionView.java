@@ -0,0 +1,11 @@
+package ru.practicum.shareit.request.repository;
+
+public interface ItemRequestVersionView {
+    Long getVersion();
+
+    Long getItemCount();
+
+    Long getLastItemId();
+
+    Long getItemVersions();
+}
@@ -9,7 +9,11 @@ public interface ItemRequestService {
 
     List<ItemRequestDto> getByRequester(Long userId);
 
+    List<ItemRequestDto> getByRequester(Long userId, int from, int size);
+
     List<ItemRequestDto> getAll(Long userId, int from, int size);
 
     ItemRequestDto getById(Long userId, Long requestId);
+
+    String getVersionTag(Long userId, Long requestId);
 }
@@ -1,11 +1,12 @@
 package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.config.ShardExecutor;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
@@ -13,10 +14,12 @@ import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.request.repository.ItemRequestVersionView;
+import ru.practicum.shareit.user.cache.UserCache;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,56 +28,57 @@ import java.util.stream.Collectors;
 public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final ItemRequestRepository requestRepo;
-    private final UserRepository userRepo;
+    private final UserCache userCache;
     private final ItemRequestMapper requestMapper;
     private final ItemService itemService;
+    private final ShardExecutor shardExecutor;
 
     @Override
     @Transactional
     public ItemRequestDto create(Long userId, ItemRequestDto dto) {
-        userRepo.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User not found: " + userId));
+        if (!userCache.exists(userId)) throw new NotFoundException("User not found: " + userId);
 
         ItemRequest request = requestMapper.toModel(dto);
         request.setRequesterId(userId);
         request.setCreated(LocalDateTime.now());
 
-        ItemRequest saved = requestRepo.save(request);
+        ItemRequest saved = requestRepo.saveAndFlush(request);
+        shardExecutor.replicate(() -> requestRepo.insertCopy(saved.getId(), saved.getDescription(),
+                saved.getRequesterId(), saved.getCreated(), saved.getVersion()));
         return requestMapper.toDto(saved);
     }
 
     @Override
     public List<ItemRequestDto> getByRequester(Long userId) {
-        userRepo.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User not found: " + userId));
+        if (!userCache.exists(userId)) throw new NotFoundException("User not found: " + userId);
 
         List<ItemRequest> requests = requestRepo.findByRequesterIdOrderByCreatedDesc(userId);
-        return requests.stream()
-                .map(this::enrichWithItems)
-                .collect(Collectors.toList());
+        return enrichWithItems(requests);
+    }
+
+    @Override
+    public List<ItemRequestDto> getByRequester(Long userId, int from, int size) {
+        if (!userCache.exists(userId)) throw new NotFoundException("User not found: " + userId);
+
+        PageRequest pageRequest = toPageRequest(from, size);
+
+        List<ItemRequest> requests = requestRepo.findByRequesterIdOrderByCreatedDesc(userId, pageRequest);
+        return enrichWithItems(requests);
     }
 
     @Override
     public List<ItemRequestDto> getAll(Long userId, int from, int size) {
-        userRepo.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User not found: " + userId));
+        if (!userCache.exists(userId)) throw new NotFoundException("User not found: " + userId);
 
-        if (size <= 0) {
-            throw new IllegalArgumentException("size must be greater than 0");
-        }
-        int page = from >= 0 ? from / size : 0;
-        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "created"));
+        PageRequest pageRequest = toPageRequest(from, size).withSort(Sort.by(Sort.Direction.DESC, "created"));
 
-        Page<ItemRequest> pageResult = requestRepo.findByRequesterIdNot(userId, pageRequest);
-        return pageResult.getContent().stream()
-                .map(this::enrichWithItems)
-                .collect(Collectors.toList());
+        Slice<ItemRequest> pageResult = requestRepo.findByRequesterIdNot(userId, pageRequest);
+        return enrichWithItems(pageResult.getContent());
     }
 
     @Override
     public ItemRequestDto getById(Long userId, Long requestId) {
-        userRepo.findById(userId)
-                .orElseThrow(() -> new NotFoundException("User not found: " + userId));
+        if (!userCache.exists(userId)) throw new NotFoundException("User not found: " + userId);
 
         ItemRequest request = requestRepo.findById(requestId)
                 .orElseThrow(() -> new NotFoundException("Request not found: " + requestId));
@@ -82,10 +86,48 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         return enrichWithItems(request);
     }
 
+    @Override
+    public String getVersionTag(Long userId, Long requestId) {
+        if (!userCache.exists(userId)) throw new NotFoundException("User not found: " + userId);
+
+        ItemRequestVersionView view = requestRepo.findVersionById(requestId)
+                .orElseThrow(() -> new NotFoundException("Request not found: " + requestId));
+        List<ItemRequestVersionView> itemViews = shardExecutor.isSharded()
+                ? shardExecutor.collect(() -> requestRepo.findVersionById(requestId).stream().toList())
+                : List.of(view);
+        return "request-" + requestId + "-" + view.getVersion() + "-"
+                + itemViews.stream().mapToLong(ItemRequestVersionView::getItemCount).sum() + "-"
+                + itemViews.stream().mapToLong(ItemRequestVersionView::getLastItemId).max().orElse(0) + "-"
+                + itemViews.stream().mapToLong(ItemRequestVersionView::getItemVersions).sum();
+    }
+
+    private PageRequest toPageRequest(int from, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be greater than 0");
+        }
+        int page = from >= 0 ? from / size : 0;
+        return PageRequest.of(page, size);
+    }
+
     private ItemRequestDto enrichWithItems(ItemRequest request) {
         ItemRequestDto dto = requestMapper.toDto(request);
         List<ItemDto> items = itemService.getByRequestId(request.getId());
         dto.setItems(items);
         return dto;
     }
+
+    private List<ItemRequestDto> enrichWithItems(List<ItemRequest> requests) {
+        if (requests.isEmpty()) return List.of();
+
+        List<Long> requestIds = requests.stream().map(ItemRequest::getId).collect(Collectors.toList());
+        Map<Long, List<ItemDto>> itemsByRequest = itemService.getByRequestIds(requestIds);
+
+        return requests.stream()
+                .map(request -> {
+                    ItemRequestDto dto = requestMapper.toDto(request);
+                    dto.setItems(itemsByRequest.getOrDefault(request.getId(), List.of()));
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
 }
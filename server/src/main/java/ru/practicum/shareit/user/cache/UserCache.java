@@ -0,0 +1,58 @@
+package ru.practicum.shareit.user.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.user.dto.UserShortDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Component
+public class UserCache {
+
+    private final UserRepository userRepo;
+    private final Cache<Long, UserShortDto> cache;
+
+    public UserCache(UserRepository userRepo,
+                     MeterRegistry meterRegistry,
+                     @Value("${shareit.cache.users.max-size:10000}") long maxSize,
+                     @Value("${shareit.cache.users.ttl:PT5M}") Duration ttl) {
+        this.userRepo = userRepo;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users");
+    }
+
+    public Optional<UserShortDto> find(Long userId) {
+        if (userId == null) return Optional.empty();
+        return Optional.ofNullable(cache.get(userId, id -> userRepo.findById(id)
+                .map(user -> new UserShortDto(user.getId(), user.getName()))
+                .orElse(null)));
+    }
+
+    public boolean exists(Long userId) {
+        return find(userId).isPresent();
+    }
+
+    public void evict(Long userId) {
+        cache.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(userId);
+                }
+            });
+        }
+    }
+}
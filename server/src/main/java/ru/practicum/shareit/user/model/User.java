@@ -14,7 +14,8 @@ import lombok.*;
 @Builder
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 255)
@@ -22,4 +23,8 @@ public class User {
 
     @Column(nullable = false, length = 512)
     private String email;
+
+    @Version
+    @Column(nullable = false)
+    private long version;
 }
@@ -1,6 +1,8 @@
 package ru.practicum.shareit.user.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.user.model.User;
 
@@ -9,4 +11,21 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmailIgnoreCase(String email);
+
+    @Query("select u.version from User u where u.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    @Modifying
+    @Query(value = "insert into users (id, name, email, version) values (:id, :name, :email, :version)",
+            nativeQuery = true)
+    void insertCopy(Long id, String name, String email, Long version);
+
+    @Modifying
+    @Query(value = "update users set name = :name, email = :email, version = :version where id = :id",
+            nativeQuery = true)
+    int updateCopy(Long id, String name, String email, Long version);
+
+    @Modifying
+    @Query(value = "delete from users where id = :id", nativeQuery = true)
+    void deleteCopy(Long id);
 }
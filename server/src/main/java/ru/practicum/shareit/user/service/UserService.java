@@ -11,6 +11,8 @@ public interface UserService {
 
     UserDto getById(Long id);
 
+    String getVersionTag(Long id);
+
     List<UserDto> getAll();
 
     void delete(Long id);
@@ -1,11 +1,16 @@
 package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.config.ShardExecutor;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.cache.UserCache;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+import ru.practicum.shareit.user.event.UserUpdatedEvent;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -20,6 +25,9 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepo;
     private final UserMapper userMapper;
+    private final UserCache userCache;
+    private final ShardExecutor shardExecutor;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -32,7 +40,9 @@ public class UserServiceImpl implements UserService {
         });
 
         User user = userMapper.toModel(dto);
-        User saved = userRepo.save(user);
+        User saved = userRepo.saveAndFlush(user);
+        shardExecutor.replicate(() -> userRepo.insertCopy(saved.getId(), saved.getName(), saved.getEmail(),
+                saved.getVersion()));
         return userMapper.toDto(saved);
     }
 
@@ -59,7 +69,14 @@ public class UserServiceImpl implements UserService {
             user.setEmail(dto.getEmail());
         }
 
-        User saved = userRepo.save(user);
+        User saved = userRepo.saveAndFlush(user);
+        shardExecutor.replicate(() -> {
+            if (userRepo.updateCopy(id, saved.getName(), saved.getEmail(), saved.getVersion()) == 0) {
+                userRepo.insertCopy(id, saved.getName(), saved.getEmail(), saved.getVersion());
+            }
+        });
+        userCache.evict(id);
+        eventPublisher.publishEvent(new UserUpdatedEvent(id));
         return userMapper.toDto(saved);
     }
 
@@ -70,6 +87,13 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new NotFoundException("User not found: " + id));
     }
 
+    @Override
+    public String getVersionTag(Long id) {
+        Long version = userRepo.findVersionById(id)
+                .orElseThrow(() -> new NotFoundException("User not found: " + id));
+        return "user-" + id + "-" + version;
+    }
+
     @Override
     public List<UserDto> getAll() {
         return userRepo.findAll().stream()
@@ -82,5 +106,8 @@ public class UserServiceImpl implements UserService {
     public void delete(Long id) {
         if (!userRepo.existsById(id)) throw new NotFoundException("User not found: " + id);
         userRepo.deleteById(id);
+        shardExecutor.replicate(() -> userRepo.deleteCopy(id));
+        userCache.evict(id);
+        eventPublisher.publishEvent(new UserDeletedEvent(id));
     }
 }
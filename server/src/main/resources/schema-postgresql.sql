@@ -0,0 +1,50 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO '
+DECLARE
+  approved_overlaps TEXT;
+BEGIN
+  IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''ex_bookings_item_period'') THEN
+    UPDATE bookings b SET status = ''REJECTED'', version = b.version + 1
+    WHERE b.status = ''WAITING''
+      AND EXISTS (SELECT 1 FROM bookings o
+                  WHERE o.item_id = b.item_id
+                    AND o.id <> b.id
+                    AND o.status IN (''WAITING'', ''APPROVED'')
+                    AND tsrange(o.start_date, o.end_date) && tsrange(b.start_date, b.end_date)
+                    AND (o.status = ''APPROVED''
+                         OR o.start_date < b.start_date
+                         OR (o.start_date = b.start_date AND o.id < b.id)));
+
+    SELECT string_agg(a.id || ''/'' || o.id, '', '' ORDER BY a.id, o.id) INTO approved_overlaps
+    FROM bookings a
+    JOIN bookings o ON o.item_id = a.item_id AND o.id > a.id
+    WHERE a.status = ''APPROVED'' AND o.status = ''APPROVED''
+      AND tsrange(o.start_date, o.end_date) && tsrange(a.start_date, a.end_date);
+    IF approved_overlaps IS NOT NULL THEN
+      RAISE EXCEPTION ''Cannot add ex_bookings_item_period: approved bookings overlap (%). Reject or move one booking of each pair and restart.'', approved_overlaps;
+    END IF;
+
+    ALTER TABLE bookings ADD CONSTRAINT ex_bookings_item_period
+      EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+      WHERE (status IN (''WAITING'', ''APPROVED''));
+  END IF;
+END';
+
+DO '
+BEGIN
+  IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''fk_booking_owner'') THEN
+    ALTER TABLE bookings ADD CONSTRAINT fk_booking_owner
+      FOREIGN KEY (owner_id) REFERENCES users (id) ON DELETE CASCADE;
+  END IF;
+END';
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_items_name_trgm ON items USING gin (upper(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_items_description_trgm ON items USING gin (upper(description) gin_trgm_ops);
+SELECT setval('users_seq', GREATEST((SELECT last_value FROM users_seq), (SELECT COALESCE(MAX(id), 0) FROM users) + 50));
+SELECT setval('item_requests_seq', GREATEST((SELECT last_value FROM item_requests_seq), (SELECT COALESCE(MAX(id), 0) FROM item_requests) + 50));
+SELECT setval('items_seq', GREATEST((SELECT last_value FROM items_seq), (SELECT COALESCE(MAX(id), 0) FROM items) + 50));
+SELECT setval('bookings_seq', GREATEST((SELECT last_value FROM bookings_seq), (SELECT COALESCE(MAX(id), 0) FROM bookings) + 50));
+SELECT setval('comments_seq', GREATEST((SELECT last_value FROM comments_seq), (SELECT COALESCE(MAX(id), 0) FROM comments) + 50));
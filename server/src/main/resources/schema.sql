@@ -1,25 +1,34 @@
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS item_requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS users (
-  id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  id BIGINT PRIMARY KEY,
   name VARCHAR(255) NOT NULL,
   email VARCHAR(512) NOT NULL,
+  version BIGINT NOT NULL DEFAULT 0,
   CONSTRAINT uq_users_email UNIQUE (email)
 );
 
 CREATE TABLE IF NOT EXISTS item_requests (
-  id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  id BIGINT PRIMARY KEY,
   description TEXT NOT NULL,
   requester_id BIGINT NOT NULL,
   created TIMESTAMP NOT NULL,
+  version BIGINT NOT NULL DEFAULT 0,
   CONSTRAINT fk_requester_user FOREIGN KEY (requester_id) REFERENCES users (id) ON DELETE CASCADE
 );
 
 CREATE TABLE IF NOT EXISTS items (
-  id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  id BIGINT PRIMARY KEY,
   name VARCHAR(255) NOT NULL,
   description TEXT,
   is_available BOOLEAN NOT NULL,
   owner_id BIGINT NOT NULL,
   request_id BIGINT,
+  version BIGINT NOT NULL DEFAULT 0,
   CONSTRAINT fk_item_owner FOREIGN KEY (owner_id) REFERENCES users (id) ON DELETE CASCADE,
   CONSTRAINT fk_item_request FOREIGN KEY (request_id) REFERENCES item_requests (id) ON DELETE SET NULL
 );
@@ -27,21 +36,36 @@ CREATE TABLE IF NOT EXISTS items (
 CREATE INDEX IF NOT EXISTS idx_items_owner ON items(owner_id);
 
 CREATE TABLE IF NOT EXISTS bookings (
-  id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  id BIGINT PRIMARY KEY,
   start_date TIMESTAMP NOT NULL,
   end_date TIMESTAMP NOT NULL,
   item_id BIGINT NOT NULL,
   booker_id BIGINT NOT NULL,
+  owner_id BIGINT NOT NULL,
   status VARCHAR(16) NOT NULL,
+  version BIGINT NOT NULL DEFAULT 0,
   CONSTRAINT fk_booking_item FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE,
-  CONSTRAINT fk_booking_booker FOREIGN KEY (booker_id) REFERENCES users (id) ON DELETE CASCADE
+  CONSTRAINT fk_booking_booker FOREIGN KEY (booker_id) REFERENCES users (id) ON DELETE CASCADE,
+  CONSTRAINT fk_booking_owner FOREIGN KEY (owner_id) REFERENCES users (id) ON DELETE CASCADE
 );
 
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS owner_id BIGINT;
+UPDATE bookings SET owner_id = (SELECT i.owner_id FROM items i WHERE i.id = bookings.item_id) WHERE owner_id IS NULL;
+ALTER TABLE bookings ALTER COLUMN owner_id SET NOT NULL;
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE item_requests ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
 CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings(item_id, start_date);
-CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings(booker_id, start_date);
+DROP INDEX IF EXISTS idx_bookings_booker_start;
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start_id ON bookings(booker_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_status_start ON bookings(owner_id, status, start_date DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_start_id ON bookings(owner_id, start_date DESC, id DESC);
 
 CREATE TABLE IF NOT EXISTS comments (
-  id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+  id BIGINT PRIMARY KEY,
   text TEXT NOT NULL,
   item_id BIGINT NOT NULL,
   author_id BIGINT NOT NULL,
@@ -50,4 +74,29 @@ CREATE TABLE IF NOT EXISTS comments (
   CONSTRAINT fk_comment_author FOREIGN KEY (author_id) REFERENCES users (id) ON DELETE CASCADE
 );
 
-CREATE INDEX IF NOT EXISTS idx_comments_item_created ON comments(item_id, created DESC);
+DROP INDEX IF EXISTS idx_comments_item_created;
+CREATE INDEX IF NOT EXISTS idx_comments_item_created_id ON comments(item_id, created DESC, id DESC);
+
+CREATE TABLE IF NOT EXISTS item_summary (
+  item_id BIGINT PRIMARY KEY,
+  last_booking_id BIGINT,
+  last_booker_id BIGINT,
+  next_booking_id BIGINT,
+  next_booker_id BIGINT,
+  next_start TIMESTAMP,
+  comment_count BIGINT NOT NULL DEFAULT 0,
+  latest_comment_at TIMESTAMP,
+  CONSTRAINT fk_item_summary_item FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE,
+  CONSTRAINT fk_item_summary_last FOREIGN KEY (last_booking_id) REFERENCES bookings (id) ON DELETE SET NULL,
+  CONSTRAINT fk_item_summary_next FOREIGN KEY (next_booking_id) REFERENCES bookings (id) ON DELETE SET NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_item_summary_next_start ON item_summary(next_start);
+
+INSERT INTO item_summary (item_id, next_start, comment_count, latest_comment_at)
+SELECT i.id,
+       TIMESTAMP '1970-01-01 00:00:00',
+       (SELECT COUNT(*) FROM comments c WHERE c.item_id = i.id),
+       (SELECT MAX(c.created) FROM comments c WHERE c.item_id = i.id)
+FROM items i
+WHERE NOT EXISTS (SELECT 1 FROM item_summary s WHERE s.item_id = i.id);
@@ -0,0 +1,80 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.datasource.init.ScriptException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnabledIfEnvironmentVariable(named = "SHAREIT_TEST_POSTGRES_URL", matches = ".+")
+class PostgresSchemaMigrationTest {
+
+    private static final String SCHEMA = "shareit_migration_test";
+
+    private JdbcTemplate jdbc;
+    private DriverManagerDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        String url = System.getenv("SHAREIT_TEST_POSTGRES_URL");
+        String username = System.getenv("SHAREIT_TEST_POSTGRES_USERNAME");
+        String password = System.getenv("SHAREIT_TEST_POSTGRES_PASSWORD");
+        new JdbcTemplate(new DriverManagerDataSource(url, username, password))
+                .execute("drop schema if exists " + SCHEMA + " cascade; create schema " + SCHEMA);
+        dataSource = new DriverManagerDataSource(url + (url.contains("?") ? "&" : "?")
+                + "currentSchema=" + SCHEMA + ",public", username, password);
+        jdbc = new JdbcTemplate(dataSource);
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        jdbc.update("insert into users (id, name, email) values (1, 'Owner', 'owner@example.com'), (2, 'Booker', 'booker@example.com')");
+        jdbc.update("insert into items (id, name, is_available, owner_id) values (10, 'Drill', true, 1)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("drop schema if exists " + SCHEMA + " cascade");
+    }
+
+    @Test
+    void exclusionConstraint_overExistingOverlaps_rejectsLaterWaitingBookings() {
+        insertBooking(100, "10:00", "12:00", "APPROVED");
+        insertBooking(101, "11:00", "13:00", "WAITING");
+        insertBooking(102, "14:00", "16:00", "WAITING");
+        insertBooking(103, "15:00", "17:00", "WAITING");
+        insertBooking(104, "18:00", "19:00", "WAITING");
+
+        new ResourceDatabasePopulator(new ClassPathResource("schema-postgresql.sql")).execute(dataSource);
+
+        assertEquals(List.of("APPROVED", "REJECTED", "WAITING", "REJECTED", "WAITING"),
+                jdbc.queryForList("select status from bookings order by id", String.class));
+        assertEquals(1, jdbc.queryForObject("select count(*) from pg_constraint where conname = 'ex_bookings_item_period'",
+                Integer.class));
+    }
+
+    @Test
+    void exclusionConstraint_overOverlappingApprovedBookings_failsWithTheirIds() {
+        insertBooking(200, "10:00", "12:00", "APPROVED");
+        insertBooking(201, "11:00", "13:00", "APPROVED");
+
+        ScriptException ex = assertThrows(ScriptException.class, () ->
+                new ResourceDatabasePopulator(new ClassPathResource("schema-postgresql.sql")).execute(dataSource));
+
+        assertTrue(NestedExceptionUtils.getMostSpecificCause(ex).getMessage().contains("200/201"));
+        assertEquals(0, jdbc.queryForObject("select count(*) from pg_constraint where conname = 'ex_bookings_item_period'",
+                Integer.class));
+    }
+
+    private void insertBooking(long id, String start, String end, String status) {
+        jdbc.update("insert into bookings (id, start_date, end_date, item_id, booker_id, owner_id, status) values"
+                        + " (?, cast(? as timestamp), cast(? as timestamp), 10, 2, 1, ?)",
+                id, "2030-01-01 " + start, "2030-01-01 " + end, status);
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SchemaMigrationTest {
+
+    @Test
+    void schema_onDatabaseWithoutBookingOwner_backfillsOwnerAndMakesItRequired() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:shareit_legacy;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table users (id bigint primary key, name varchar(255) not null, email varchar(512) not null)");
+        jdbc.execute("create table items (id bigint primary key, name varchar(255) not null, description text,"
+                + " is_available boolean not null, owner_id bigint not null references users (id), request_id bigint)");
+        jdbc.execute("create table bookings (id bigint primary key, start_date timestamp not null,"
+                + " end_date timestamp not null, item_id bigint not null references items (id),"
+                + " booker_id bigint not null references users (id), status varchar(16) not null)");
+        jdbc.update("insert into users (id, name, email) values (1, 'Owner', 'owner@example.com'), (2, 'Booker', 'booker@example.com')");
+        jdbc.update("insert into items (id, name, is_available, owner_id) values (10, 'Drill', true, 1)");
+        jdbc.update("insert into bookings (id, start_date, end_date, item_id, booker_id, status)"
+                + " values (100, timestamp '2025-01-01 10:00:00', timestamp '2025-01-02 10:00:00', 10, 2, 'APPROVED')");
+        try {
+            new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+
+            assertEquals(1L, jdbc.queryForObject("select owner_id from bookings where id = 100", Long.class));
+            assertEquals("NO", jdbc.queryForObject("select is_nullable from information_schema.columns"
+                    + " where lower(table_name) = 'bookings' and lower(column_name) = 'owner_id'", String.class));
+        } finally {
+            jdbc.execute("drop all objects");
+        }
+    }
+}
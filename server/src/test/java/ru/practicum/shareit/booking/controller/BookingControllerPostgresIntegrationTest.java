@@ -0,0 +1,90 @@
+package ru.practicum.shareit.booking.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.common.HeaderConstants;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@EnabledIfEnvironmentVariable(named = "SHAREIT_TEST_POSTGRES_URL", matches = ".+")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingControllerPostgresIntegrationTest {
+
+    private static final String SCHEMA = "shareit_overlap_test";
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    private final UserService userService;
+    private final ItemService itemService;
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        String url = System.getenv("SHAREIT_TEST_POSTGRES_URL");
+        adminJdbc().execute("drop schema if exists " + SCHEMA + " cascade; create schema " + SCHEMA);
+        registry.add("spring.datasource.url", () -> url + (url.contains("?") ? "&" : "?")
+                + "currentSchema=" + SCHEMA + ",public");
+        registry.add("spring.datasource.username", () -> System.getenv("SHAREIT_TEST_POSTGRES_USERNAME"));
+        registry.add("spring.datasource.password", () -> System.getenv("SHAREIT_TEST_POSTGRES_PASSWORD"));
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.sql.init.schema-locations", () -> "classpath:schema.sql,classpath:schema-postgresql.sql");
+    }
+
+    @AfterAll
+    static void dropSchema() {
+        adminJdbc().execute("drop schema if exists " + SCHEMA + " cascade");
+    }
+
+    @Test
+    void create_overlappingWaitingBooking_returnsConflict() throws Exception {
+        Long owner = userService.create(UserDto.builder().name("Owner").email("pg-owner@example.com").build()).getId();
+        Long booker = userService.create(UserDto.builder().name("Booker").email("pg-booker@example.com").build()).getId();
+        Long item = itemService.create(owner, ItemDto.builder().name("Drill").description("Tool").available(true).build())
+                .getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+
+        mockMvc.perform(post("/bookings")
+                        .header(HeaderConstants.X_SHARER_USER_ID, booker)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BookingDto(item, start, start.plusHours(2)))))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/bookings")
+                        .header(HeaderConstants.X_SHARER_USER_ID, booker)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new BookingDto(item, start.plusHours(1), start.plusHours(3)))))
+                .andExpect(status().isConflict());
+        mockMvc.perform(post("/bookings")
+                        .header(HeaderConstants.X_SHARER_USER_ID, booker)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(
+                                new BookingDto(item, start.plusHours(2), start.plusHours(4)))))
+                .andExpect(status().isOk());
+    }
+
+    private static JdbcTemplate adminJdbc() {
+        return new JdbcTemplate(new DriverManagerDataSource(System.getenv("SHAREIT_TEST_POSTGRES_URL"),
+                System.getenv("SHAREIT_TEST_POSTGRES_USERNAME"), System.getenv("SHAREIT_TEST_POSTGRES_PASSWORD")));
+    }
+}
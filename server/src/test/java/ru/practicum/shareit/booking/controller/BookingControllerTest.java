@@ -5,8 +5,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.BookingStatus;
@@ -17,6 +20,8 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -126,4 +131,71 @@ class BookingControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$").isArray());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getByBooker_WithCursor_UsesKeysetService() throws Exception {
+        BookingResponseDto responseDto = BookingResponseDto.builder()
+                .id(4L)
+                .status(BookingStatus.APPROVED)
+                .build();
+        LocalDateTime afterStart = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+        when(bookingService.getByBooker(1L, "PAST", afterStart, 5L, 2))
+                .thenReturn(List.of(responseDto));
+
+        mockMvc.perform(get("/bookings")
+                        .header(HeaderConstants.X_SHARER_USER_ID, 1L)
+                        .param("state", "PAST")
+                        .param("size", "2")
+                        .param("afterStart", "2025-03-01T12:00:00")
+                        .param("afterId", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(4L));
+
+        verify(bookingService, never()).getByBooker(anyLong(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getByOwner_WithCursor_UsesKeysetService() throws Exception {
+        LocalDateTime afterStart = LocalDateTime.of(2025, 3, 1, 12, 0);
+
+        when(bookingService.getByOwner(1L, "ALL", afterStart, 5L, 10))
+                .thenReturn(List.of());
+
+        mockMvc.perform(get("/bookings/owner")
+                        .header(HeaderConstants.X_SHARER_USER_ID, 1L)
+                        .param("afterStart", "2025-03-01T12:00:00")
+                        .param("afterId", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isEmpty());
+    }
+
+    @Test
+    void getById_MatchingEtag_ReturnsNotModifiedWithoutLoading() throws Exception {
+        when(bookingService.getVersionTag(1L, 1L)).thenReturn("booking-1-1-0-0");
+
+        mockMvc.perform(get("/bookings/1")
+                        .header(HeaderConstants.X_SHARER_USER_ID, 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"booking-1-1-0-0\""))
+                .andExpect(status().isNotModified());
+
+        verify(bookingService, never()).getById(anyLong(), anyLong());
+    }
+
+    @Test
+    void approveAll_ReturnsPerBookingResults() throws Exception {
+        List<BookingDecisionDto> decisions = List.of(new BookingDecisionDto(1L, true), new BookingDecisionDto(2L, false));
+        when(bookingService.approveAll(eq(1L), anyList())).thenReturn(List.of(
+                new BookingDecisionResultDto(1L, BookingStatus.APPROVED, null),
+                new BookingDecisionResultDto(2L, BookingStatus.APPROVED, "Only WAITING can be changed")));
+
+        mockMvc.perform(patch("/bookings")
+                        .header(HeaderConstants.X_SHARER_USER_ID, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(decisions)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bookingId").value(1L))
+                .andExpect(jsonPath("$[0].status").value("APPROVED"))
+                .andExpect(jsonPath("$[1].error").value("Only WAITING can be changed"));
+    }
+}
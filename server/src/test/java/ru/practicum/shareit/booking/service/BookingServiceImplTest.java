@@ -6,28 +6,45 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
 import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingFilter;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingStateView;
+import ru.practicum.shareit.booking.repository.BookingVersionView;
+import ru.practicum.shareit.config.ShardExecutor;
+import ru.practicum.shareit.config.ShardMap;
 import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
+import ru.practicum.shareit.user.cache.UserCache;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -43,7 +60,15 @@ class BookingServiceImplTest {
     @Mock
     private UserRepository userRepo;
     @Mock
+    private UserCache userCache;
+    @Mock
     private BookingMapper bookingMapper;
+    @Mock
+    private ItemSummaryService itemSummaryService;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+    @Spy
+    private ShardExecutor shardExecutor = new ShardExecutor(new ShardMap(List.of(), Map.of()), null);
 
     @InjectMocks
     private BookingServiceImpl bookingService;
@@ -89,14 +114,56 @@ class BookingServiceImplTest {
         when(userRepo.findById(booker.getId())).thenReturn(Optional.of(booker));
         when(itemRepo.findById(item.getId())).thenReturn(Optional.of(item));
         when(bookingMapper.toModel(bookingDto)).thenReturn(booking);
-        when(bookingRepo.save(any(Booking.class))).thenReturn(booking);
+        when(bookingRepo.saveAndFlush(any(Booking.class))).thenReturn(booking);
         when(bookingMapper.toResponseDto(booking)).thenReturn(responseDto);
 
         BookingResponseDto result = bookingService.create(booker.getId(), bookingDto);
 
         assertNotNull(result);
         assertEquals(responseDto.getId(), result.getId());
-        verify(bookingRepo).save(any(Booking.class));
+        ArgumentCaptor<Booking> captor = ArgumentCaptor.forClass(Booking.class);
+        verify(bookingRepo).saveAndFlush(captor.capture());
+        assertEquals(owner.getId(), captor.getValue().getOwnerId());
+        assertEquals(BookingStatus.WAITING, captor.getValue().getStatus());
+        ArgumentCaptor<BookingChangedEvent> eventCaptor = ArgumentCaptor.forClass(BookingChangedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertEquals(item.getId(), eventCaptor.getValue().getItemId());
+        verify(itemSummaryService).refresh(List.of(item.getId()));
+    }
+
+    @Test
+    void create_OverlappingBooking_ThrowsConflict() {
+        when(userRepo.findById(booker.getId())).thenReturn(Optional.of(booker));
+        when(itemRepo.findById(item.getId())).thenReturn(Optional.of(item));
+        when(bookingMapper.toModel(bookingDto)).thenReturn(booking);
+        SQLException exclusion = new SQLException("conflicting key value violates exclusion constraint", "23P01");
+        when(bookingRepo.saveAndFlush(any(Booking.class)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement", exclusion));
+
+        assertThrows(ConflictException.class, () -> bookingService.create(booker.getId(), bookingDto));
+    }
+
+    @Test
+    void create_OverlapConstraintNamedInMessage_ThrowsConflict() {
+        when(userRepo.findById(booker.getId())).thenReturn(Optional.of(booker));
+        when(itemRepo.findById(item.getId())).thenReturn(Optional.of(item));
+        when(bookingMapper.toModel(bookingDto)).thenReturn(booking);
+        when(bookingRepo.saveAndFlush(any(Booking.class)))
+                .thenThrow(new DataIntegrityViolationException("violates ex_bookings_item_period"));
+
+        assertThrows(ConflictException.class, () -> bookingService.create(booker.getId(), bookingDto));
+    }
+
+    @Test
+    void create_OtherIntegrityViolation_IsRethrown() {
+        when(userRepo.findById(booker.getId())).thenReturn(Optional.of(booker));
+        when(itemRepo.findById(item.getId())).thenReturn(Optional.of(item));
+        when(bookingMapper.toModel(bookingDto)).thenReturn(booking);
+        SQLException fk = new SQLException("violates foreign key constraint fk_booking_item", "23503");
+        when(bookingRepo.saveAndFlush(any(Booking.class)))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement", fk));
+
+        assertThrows(DataIntegrityViolationException.class, () -> bookingService.create(booker.getId(), bookingDto));
     }
 
     @Test
@@ -124,30 +191,28 @@ class BookingServiceImplTest {
 
     @Test
     void approve_Success_ApproveTrue() {
+        when(bookingRepo.updateStatusIfWaiting(booking.getId(), owner.getId(), BookingStatus.APPROVED)).thenReturn(1);
         when(bookingRepo.findById(booking.getId())).thenReturn(Optional.of(booking));
-        when(bookingRepo.save(any())).thenAnswer(inv -> inv.getArgument(0));
         when(bookingMapper.toResponseDto(any())).thenReturn(responseDto);
 
         BookingResponseDto res = bookingService.approve(owner.getId(), booking.getId(), true);
         assertNotNull(res);
 
-        ArgumentCaptor<Booking> captor = ArgumentCaptor.forClass(Booking.class);
-        verify(bookingRepo).save(captor.capture());
-        assertEquals(BookingStatus.APPROVED, captor.getValue().getStatus());
+        verify(bookingRepo, never()).save(any());
+        verify(eventPublisher).publishEvent(any(BookingChangedEvent.class));
+        verify(itemSummaryService).refresh(List.of(item.getId()));
     }
 
     @Test
     void approve_Success_ApproveFalse() {
+        when(bookingRepo.updateStatusIfWaiting(booking.getId(), owner.getId(), BookingStatus.REJECTED)).thenReturn(1);
         when(bookingRepo.findById(booking.getId())).thenReturn(Optional.of(booking));
-        when(bookingRepo.save(any())).thenAnswer(inv -> inv.getArgument(0));
         when(bookingMapper.toResponseDto(any())).thenReturn(responseDto);
 
         BookingResponseDto res = bookingService.approve(owner.getId(), booking.getId(), false);
         assertNotNull(res);
 
-        ArgumentCaptor<Booking> captor = ArgumentCaptor.forClass(Booking.class);
-        verify(bookingRepo).save(captor.capture());
-        assertEquals(BookingStatus.REJECTED, captor.getValue().getStatus());
+        verify(bookingRepo).updateStatusIfWaiting(booking.getId(), owner.getId(), BookingStatus.REJECTED);
     }
 
     @Test
@@ -165,9 +230,9 @@ class BookingServiceImplTest {
 
     @Test
     void getByBooker_AllState() {
-        Page<Booking> page = new PageImpl<>(List.of(booking));
-        when(userRepo.existsById(booker.getId())).thenReturn(true);
-        when(bookingRepo.findByBooker_IdOrderByStartDesc(eq(booker.getId()), any(Pageable.class))).thenReturn(page);
+        Slice<Booking> page = new SliceImpl<>(List.of(booking));
+        when(userCache.exists(booker.getId())).thenReturn(true);
+        when(bookingRepo.findSlice(any(BookingFilter.class), any(Pageable.class))).thenReturn(page);
         when(bookingMapper.toResponseDto(booking)).thenReturn(responseDto);
 
         List<BookingResponseDto> result = bookingService.getByBooker(booker.getId(), "ALL", 0, 10);
@@ -177,15 +242,11 @@ class BookingServiceImplTest {
 
     @Test
     void getByBooker_WaitingRejectedCurrentFuturePast() {
-        when(userRepo.existsById(booker.getId())).thenReturn(true);
-        Page<Booking> p = new PageImpl<>(List.of(booking));
+        when(userCache.exists(booker.getId())).thenReturn(true);
+        Slice<Booking> p = new SliceImpl<>(List.of(booking));
         when(bookingMapper.toResponseDto(any())).thenReturn(responseDto);
 
-        when(bookingRepo.findByBooker_IdAndStatusOrderByStartDesc(eq(booker.getId()), eq(BookingStatus.WAITING), any())).thenReturn(p);
-        when(bookingRepo.findByBooker_IdAndStatusOrderByStartDesc(eq(booker.getId()), eq(BookingStatus.REJECTED), any())).thenReturn(p);
-        when(bookingRepo.findByBooker_IdAndStartBeforeAndEndAfterOrderByStartDesc(eq(booker.getId()), any(), any(), any())).thenReturn(p);
-        when(bookingRepo.findByBooker_IdAndStartAfterOrderByStartDesc(eq(booker.getId()), any(), any())).thenReturn(p);
-        when(bookingRepo.findByBooker_IdAndEndBeforeOrderByStartDesc(eq(booker.getId()), any(), any())).thenReturn(p);
+        when(bookingRepo.findSlice(any(BookingFilter.class), any(Pageable.class))).thenReturn(p);
 
         assertEquals(1, bookingService.getByBooker(booker.getId(), "WAITING", 0, 10).size());
         assertEquals(1, bookingService.getByBooker(booker.getId(), "REJECTED", 0, 10).size());
@@ -196,26 +257,23 @@ class BookingServiceImplTest {
 
     @Test
     void getByBooker_UserNotFound_ThrowsNotFound() {
-        when(userRepo.existsById(booker.getId())).thenReturn(false);
+        when(userCache.exists(booker.getId())).thenReturn(false);
         assertThrows(NotFoundException.class, () -> bookingService.getByBooker(booker.getId(), "ALL", 0, 10));
     }
 
     @Test
     void getByBooker_InvalidSize_ThrowsBadRequest() {
-        when(userRepo.existsById(booker.getId())).thenReturn(true);
+        when(userCache.exists(booker.getId())).thenReturn(true);
         assertThrows(BadRequestException.class, () -> bookingService.getByBooker(booker.getId(), "ALL", 0, 0));
     }
 
     @Test
     void getByOwner_AllStates() {
-        when(userRepo.existsById(owner.getId())).thenReturn(true);
-        Page<Booking> page = new PageImpl<>(List.of(booking));
+        when(userCache.exists(owner.getId())).thenReturn(true);
+        Slice<Booking> page = new SliceImpl<>(List.of(booking));
         when(bookingMapper.toResponseDto(any())).thenReturn(responseDto);
 
-        when(bookingRepo.findByItem_Owner_IdOrderByStartDesc(eq(owner.getId()), any(Pageable.class))).thenReturn(page);
-        when(bookingRepo.findByItem_Owner_IdAndStatusOrderByStartDesc(eq(owner.getId()), eq(BookingStatus.WAITING), any())).thenReturn(page);
-        when(bookingRepo.findByItem_Owner_IdAndStatusOrderByStartDesc(eq(owner.getId()), eq(BookingStatus.REJECTED), any())).thenReturn(page);
-        when(bookingRepo.findByItem_Owner_IdAndStartAfterOrderByStartDesc(eq(owner.getId()), any(), any())).thenReturn(page);
+        when(bookingRepo.findSlice(any(BookingFilter.class), any(Pageable.class))).thenReturn(page);
 
         assertEquals(1, bookingService.getByOwner(owner.getId(), "ALL", 0, 10).size());
         assertEquals(1, bookingService.getByOwner(owner.getId(), "WAITING", 0, 10).size());
@@ -225,23 +283,22 @@ class BookingServiceImplTest {
 
     @Test
     void getByOwner_UserNotFound_ThrowsNotFound() {
-        when(userRepo.existsById(owner.getId())).thenReturn(false);
+        when(userCache.exists(owner.getId())).thenReturn(false);
         assertThrows(NotFoundException.class, () -> bookingService.getByOwner(owner.getId(), "ALL", 0, 10));
     }
 
     @Test
     void getByOwner_InvalidSize_ThrowsBadRequest() {
-        when(userRepo.existsById(owner.getId())).thenReturn(true);
+        when(userCache.exists(owner.getId())).thenReturn(true);
 
         assertThrows(BadRequestException.class, () -> bookingService.getByOwner(owner.getId(), "ALL", 0, 0));
     }
 
     @Test
     void getByOwner_StateCurrent_ShouldReturnCurrentBookings() {
-        when(userRepo.existsById(owner.getId())).thenReturn(true);
-        Page<Booking> page = new PageImpl<>(List.of(booking));
-        when(bookingRepo.findByItem_Owner_IdAndStartBeforeAndEndAfterOrderByStartDesc(anyLong(), any(), any(), any(Pageable.class)))
-                .thenReturn(page);
+        when(userCache.exists(owner.getId())).thenReturn(true);
+        Slice<Booking> page = new SliceImpl<>(List.of(booking));
+        when(bookingRepo.findSlice(any(BookingFilter.class), any(Pageable.class))).thenReturn(page);
         when(bookingMapper.toResponseDto(any(Booking.class))).thenReturn(responseDto);
 
         List<BookingResponseDto> result = bookingService.getByOwner(owner.getId(), "CURRENT", 0, 10);
@@ -251,10 +308,9 @@ class BookingServiceImplTest {
 
     @Test
     void getByOwner_StatePast_ShouldReturnPastBookings() {
-        when(userRepo.existsById(owner.getId())).thenReturn(true);
-        Page<Booking> page = new PageImpl<>(List.of(booking));
-        when(bookingRepo.findByItem_Owner_IdAndEndBeforeOrderByStartDesc(anyLong(), any(), any(Pageable.class)))
-                .thenReturn(page);
+        when(userCache.exists(owner.getId())).thenReturn(true);
+        Slice<Booking> page = new SliceImpl<>(List.of(booking));
+        when(bookingRepo.findSlice(any(BookingFilter.class), any(Pageable.class))).thenReturn(page);
         when(bookingMapper.toResponseDto(any(Booking.class))).thenReturn(responseDto);
 
         List<BookingResponseDto> result = bookingService.getByOwner(owner.getId(), "PAST", 0, 10);
@@ -264,10 +320,9 @@ class BookingServiceImplTest {
 
     @Test
     void getByOwner_StateFuture_ShouldReturnFutureBookings() {
-        when(userRepo.existsById(owner.getId())).thenReturn(true);
-        Page<Booking> page = new PageImpl<>(List.of(booking));
-        when(bookingRepo.findByItem_Owner_IdAndStartAfterOrderByStartDesc(anyLong(), any(), any(Pageable.class)))
-                .thenReturn(page);
+        when(userCache.exists(owner.getId())).thenReturn(true);
+        Slice<Booking> page = new SliceImpl<>(List.of(booking));
+        when(bookingRepo.findSlice(any(BookingFilter.class), any(Pageable.class))).thenReturn(page);
         when(bookingMapper.toResponseDto(any(Booking.class))).thenReturn(responseDto);
 
         List<BookingResponseDto> result = bookingService.getByOwner(owner.getId(), "FUTURE", 0, 10);
@@ -277,10 +332,9 @@ class BookingServiceImplTest {
 
     @Test
     void getByOwner_StateWaiting_ShouldReturnWaitingBookings() {
-        when(userRepo.existsById(owner.getId())).thenReturn(true);
-        Page<Booking> page = new PageImpl<>(List.of(booking));
-        when(bookingRepo.findByItem_Owner_IdAndStatusOrderByStartDesc(anyLong(), eq(BookingStatus.WAITING), any(Pageable.class)))
-                .thenReturn(page);
+        when(userCache.exists(owner.getId())).thenReturn(true);
+        Slice<Booking> page = new SliceImpl<>(List.of(booking));
+        when(bookingRepo.findSlice(any(BookingFilter.class), any(Pageable.class))).thenReturn(page);
         when(bookingMapper.toResponseDto(any(Booking.class))).thenReturn(responseDto);
 
         List<BookingResponseDto> result = bookingService.getByOwner(owner.getId(), "WAITING", 0, 10);
@@ -290,10 +344,9 @@ class BookingServiceImplTest {
 
     @Test
     void getByOwner_StateRejected_ShouldReturnRejectedBookings() {
-        when(userRepo.existsById(owner.getId())).thenReturn(true);
-        Page<Booking> page = new PageImpl<>(List.of(booking));
-        when(bookingRepo.findByItem_Owner_IdAndStatusOrderByStartDesc(anyLong(), eq(BookingStatus.REJECTED), any(Pageable.class)))
-                .thenReturn(page);
+        when(userCache.exists(owner.getId())).thenReturn(true);
+        Slice<Booking> page = new SliceImpl<>(List.of(booking));
+        when(bookingRepo.findSlice(any(BookingFilter.class), any(Pageable.class))).thenReturn(page);
         when(bookingMapper.toResponseDto(any(Booking.class))).thenReturn(responseDto);
 
         List<BookingResponseDto> result = bookingService.getByOwner(owner.getId(), "REJECTED", 0, 10);
@@ -303,7 +356,7 @@ class BookingServiceImplTest {
 
     @Test
     void getByOwner_UnknownState_ShouldThrowBadRequestException() {
-        when(userRepo.existsById(owner.getId())).thenReturn(true);
+        when(userCache.exists(owner.getId())).thenReturn(true);
         assertThrows(BadRequestException.class, () -> bookingService.getByOwner(owner.getId(), "INVALID", 0, 10));
     }
 
@@ -323,22 +376,24 @@ class BookingServiceImplTest {
 
     @Test
     void getByBooker_NegativeFrom_ShouldSetToZero() {
-        when(userRepo.existsById(booker.getId())).thenReturn(true);
-        Page<Booking> page = new PageImpl<>(List.of(booking));
-        when(bookingRepo.findByBooker_IdOrderByStartDesc(anyLong(), any(PageRequest.class))).thenReturn(page);
+        when(userCache.exists(booker.getId())).thenReturn(true);
+        Slice<Booking> page = new SliceImpl<>(List.of(booking));
+        when(bookingRepo.findSlice(any(BookingFilter.class), any(Pageable.class))).thenReturn(page);
         when(bookingMapper.toResponseDto(any(Booking.class))).thenReturn(responseDto);
 
         List<BookingResponseDto> result = bookingService.getByBooker(booker.getId(), "ALL", -5, 10);
 
         assertNotNull(result);
-        verify(bookingRepo).findByBooker_IdOrderByStartDesc(eq(booker.getId()), any(PageRequest.class));
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(bookingRepo).findSlice(any(BookingFilter.class), captor.capture());
+        assertEquals(0, captor.getValue().getOffset());
     }
 
     @Test
     void getByBooker_StateNullOrBlank_ShouldReturnAllBookings() {
-        when(userRepo.existsById(booker.getId())).thenReturn(true);
-        Page<Booking> page = new PageImpl<>(List.of(booking));
-        when(bookingRepo.findByBooker_IdOrderByStartDesc(anyLong(), any(PageRequest.class))).thenReturn(page);
+        when(userCache.exists(booker.getId())).thenReturn(true);
+        Slice<Booking> page = new SliceImpl<>(List.of(booking));
+        when(bookingRepo.findSlice(any(BookingFilter.class), any(Pageable.class))).thenReturn(page);
         when(bookingMapper.toResponseDto(any(Booking.class))).thenReturn(responseDto);
 
         List<BookingResponseDto> resultNull = bookingService.getByBooker(booker.getId(), null, 0, 10);
@@ -394,4 +449,162 @@ class BookingServiceImplTest {
 
         assertThrows(NotFoundException.class, () -> bookingService.approve(1L, 1L, true));
     }
+
+    @Test
+    void getByBooker_WithCursor_PassesCursorAndStateToQuery() {
+        LocalDateTime afterStart = LocalDateTime.now();
+        Slice<Booking> slice = new SliceImpl<>(List.of(booking));
+        when(userCache.exists(booker.getId())).thenReturn(true);
+        when(bookingMapper.toResponseDto(any())).thenReturn(responseDto);
+
+        when(bookingRepo.findSlice(any(BookingFilter.class), any(Pageable.class))).thenReturn(slice);
+
+        assertEquals(1, bookingService.getByBooker(booker.getId(), "ALL", afterStart, 5L, 10).size());
+        assertEquals(1, bookingService.getByBooker(booker.getId(), "WAITING", afterStart, 5L, 10).size());
+        assertEquals(1, bookingService.getByBooker(booker.getId(), "CURRENT", afterStart, 5L, 10).size());
+        assertEquals(1, bookingService.getByBooker(booker.getId(), "PAST", afterStart, 5L, 10).size());
+        assertEquals(1, bookingService.getByBooker(booker.getId(), "FUTURE", afterStart, 5L, 10).size());
+
+        ArgumentCaptor<BookingFilter> filters = ArgumentCaptor.forClass(BookingFilter.class);
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(bookingRepo, times(5)).findSlice(filters.capture(), captor.capture());
+        assertEquals(List.of(BookingState.ALL, BookingState.WAITING, BookingState.CURRENT, BookingState.PAST, BookingState.FUTURE),
+                filters.getAllValues().stream().map(BookingFilter::getState).toList());
+        assertTrue(filters.getAllValues().stream().allMatch(f -> booker.getId().equals(f.getBookerId())
+                && f.getOwnerId() == null && afterStart.equals(f.getAfterStart()) && f.getAfterId() == 5L));
+        assertEquals(0, captor.getValue().getPageNumber());
+        assertEquals(10, captor.getValue().getPageSize());
+    }
+
+    @Test
+    void getByOwner_WithCursor_PassesCursorAndStateToQuery() {
+        LocalDateTime afterStart = LocalDateTime.now();
+        Slice<Booking> slice = new SliceImpl<>(List.of(booking));
+        when(userCache.exists(owner.getId())).thenReturn(true);
+        when(bookingMapper.toResponseDto(any())).thenReturn(responseDto);
+
+        when(bookingRepo.findSlice(any(BookingFilter.class), any(Pageable.class))).thenReturn(slice);
+
+        assertEquals(1, bookingService.getByOwner(owner.getId(), null, afterStart, 5L, 10).size());
+        assertEquals(1, bookingService.getByOwner(owner.getId(), "REJECTED", afterStart, 5L, 10).size());
+        assertEquals(1, bookingService.getByOwner(owner.getId(), "CURRENT", afterStart, 5L, 10).size());
+        assertEquals(1, bookingService.getByOwner(owner.getId(), "PAST", afterStart, 5L, 10).size());
+        assertEquals(1, bookingService.getByOwner(owner.getId(), "FUTURE", afterStart, 5L, 10).size());
+        assertThrows(BadRequestException.class,
+                () -> bookingService.getByOwner(owner.getId(), "INVALID", afterStart, 5L, 10));
+    }
+
+    @Test
+    void getByBooker_WithIncompleteCursor_ThrowsBadRequest() {
+        when(userCache.exists(booker.getId())).thenReturn(true);
+        assertThrows(BadRequestException.class,
+                () -> bookingService.getByBooker(booker.getId(), "ALL", LocalDateTime.now(), null, 10));
+        assertThrows(BadRequestException.class,
+                () -> bookingService.getByBooker(booker.getId(), "ALL", null, 5L, 10));
+        assertThrows(BadRequestException.class,
+                () -> bookingService.getByBooker(booker.getId(), "ALL", LocalDateTime.now(), 5L, 0));
+        verifyNoInteractions(bookingRepo);
+    }
+
+    @Test
+    void getVersionTag_ForBookerOrOwner_CombinesVersions() {
+        BookingVersionView view = mock(BookingVersionView.class);
+        when(view.getVersion()).thenReturn(2L);
+        when(view.getBookerId()).thenReturn(5L);
+        when(view.getOwnerId()).thenReturn(7L);
+        when(view.getItemVersion()).thenReturn(1L);
+        when(view.getBookerVersion()).thenReturn(4L);
+        when(bookingRepo.findVersionById(3L)).thenReturn(Optional.of(view));
+
+        assertEquals("booking-3-2-1-4", bookingService.getVersionTag(5L, 3L));
+        assertEquals("booking-3-2-1-4", bookingService.getVersionTag(7L, 3L));
+    }
+
+    @Test
+    void getVersionTag_ForStranger_ThrowsNotFound() {
+        BookingVersionView view = mock(BookingVersionView.class);
+        when(view.getBookerId()).thenReturn(5L);
+        when(view.getOwnerId()).thenReturn(7L);
+        when(bookingRepo.findVersionById(3L)).thenReturn(Optional.of(view));
+
+        assertThrows(NotFoundException.class, () -> bookingService.getVersionTag(9L, 3L));
+    }
+
+    @Test
+    void approveAll_UpdatesEligibleBookingsPerDecisionAndReportsFailures() {
+        List<BookingDecisionDto> decisions = List.of(
+                new BookingDecisionDto(1L, true),
+                new BookingDecisionDto(2L, false),
+                new BookingDecisionDto(3L, true),
+                new BookingDecisionDto(4L, true),
+                new BookingDecisionDto(5L, true));
+        when(bookingRepo.findStatesForUpdate(any())).thenReturn(List.of(
+                state(1L, owner.getId(), BookingStatus.WAITING),
+                state(2L, owner.getId(), BookingStatus.WAITING),
+                state(3L, owner.getId(), BookingStatus.APPROVED),
+                state(4L, 99L, BookingStatus.WAITING)));
+        when(bookingRepo.updateStatusIfWaiting(List.of(1L), owner.getId(), BookingStatus.APPROVED)).thenReturn(1);
+        when(bookingRepo.updateStatusIfWaiting(List.of(2L), owner.getId(), BookingStatus.REJECTED)).thenReturn(1);
+
+        List<BookingDecisionResultDto> results = bookingService.approveAll(owner.getId(), decisions);
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), results.stream().map(BookingDecisionResultDto::getBookingId).toList());
+        assertEquals(BookingStatus.APPROVED, results.get(0).getStatus());
+        assertNull(results.get(0).getError());
+        assertEquals(BookingStatus.REJECTED, results.get(1).getStatus());
+        assertEquals("Only WAITING can be changed", results.get(2).getError());
+        assertEquals("Only owner can approve/reject", results.get(3).getError());
+        assertNull(results.get(3).getStatus());
+        assertEquals("Booking not found: 5", results.get(4).getError());
+        verify(bookingRepo, times(1)).findStatesForUpdate(any());
+        verify(eventPublisher, times(2)).publishEvent(any(BookingChangedEvent.class));
+        verify(itemSummaryService).refresh(Set.of(item.getId()));
+    }
+
+    @Test
+    void approveAll_UpdateMissesLockedRow_ThrowsConflictWithoutEvents() {
+        when(bookingRepo.findStatesForUpdate(any()))
+                .thenReturn(List.of(state(1L, owner.getId(), BookingStatus.WAITING),
+                        state(2L, owner.getId(), BookingStatus.WAITING)));
+        when(bookingRepo.updateStatusIfWaiting(List.of(1L, 2L), owner.getId(), BookingStatus.APPROVED)).thenReturn(1);
+
+        assertThrows(ConflictException.class, () -> bookingService.approveAll(owner.getId(),
+                List.of(new BookingDecisionDto(1L, true), new BookingDecisionDto(2L, true))));
+        verify(eventPublisher, never()).publishEvent(any());
+        verify(itemSummaryService, never()).refresh(any());
+    }
+
+    @Test
+    void approveAll_InvalidInput_ThrowsBadRequest() {
+        assertThrows(BadRequestException.class, () -> bookingService.approveAll(owner.getId(), List.of()));
+        assertThrows(BadRequestException.class, () -> bookingService.approveAll(owner.getId(),
+                List.of(new BookingDecisionDto(1L, null))));
+        assertThrows(BadRequestException.class, () -> bookingService.approveAll(owner.getId(),
+                List.of(new BookingDecisionDto(1L, true), new BookingDecisionDto(1L, false))));
+        verifyNoInteractions(bookingRepo);
+    }
+
+    private BookingStateView state(Long id, Long ownerId, BookingStatus status) {
+        return new BookingStateView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getOwnerId() {
+                return ownerId;
+            }
+
+            @Override
+            public Long getItemId() {
+                return item.getId();
+            }
+
+            @Override
+            public BookingStatus getStatus() {
+                return status;
+            }
+        };
+    }
 }
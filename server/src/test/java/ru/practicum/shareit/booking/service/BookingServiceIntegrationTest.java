@@ -0,0 +1,347 @@
+package ru.practicum.shareit.booking.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ForbiddenException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+@TestPropertySource(properties = {"db.name=test", "spring.jpa.properties.hibernate.generate_statistics=true"})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class BookingServiceIntegrationTest {
+
+    private final BookingService bookingService;
+    private final ItemService itemService;
+    private final UserService userService;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+
+    @Test
+    void getByOwner_loadsItemAndBookerWithoutPerRowSelects() {
+        UserDto owner = userService.create(UserDto.builder().name("Owner").email("owner@example.com").build());
+        UserDto first = userService.create(UserDto.builder().name("First").email("first@example.com").build());
+        UserDto second = userService.create(UserDto.builder().name("Second").email("second@example.com").build());
+        ItemDto drill = itemService.create(owner.getId(),
+                ItemDto.builder().name("Drill").description("Drill").available(true).build());
+        ItemDto saw = itemService.create(owner.getId(),
+                ItemDto.builder().name("Saw").description("Saw").available(true).build());
+
+        LocalDateTime now = LocalDateTime.now();
+        saveBooking(drill.getId(), first.getId(), now.plusDays(1));
+        saveBooking(saw.getId(), second.getId(), now.plusDays(3));
+        saveBooking(drill.getId(), second.getId(), now.plusDays(5));
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BookingResponseDto> bookings = bookingService.getByOwner(owner.getId(), "ALL", 0, 10);
+
+        assertEquals(3, bookings.size());
+        assertEquals("Drill", bookings.get(0).getItem().getName());
+        assertEquals("Second", bookings.get(0).getBooker().getName());
+        assertEquals("Saw", bookings.get(1).getItem().getName());
+        assertEquals("First", bookings.get(2).getBooker().getName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getByOwner_fullPage_doesNotRunCountQuery() {
+        UserDto owner = userService.create(UserDto.builder().name("Owner").email("owner@example.com").build());
+        UserDto booker = userService.create(UserDto.builder().name("Booker").email("booker@example.com").build());
+        ItemDto drill = itemService.create(owner.getId(),
+                ItemDto.builder().name("Drill").description("Drill").available(true).build());
+
+        LocalDateTime now = LocalDateTime.now();
+        saveBooking(drill.getId(), booker.getId(), now.plusDays(1));
+        saveBooking(drill.getId(), booker.getId(), now.plusDays(3));
+        saveBooking(drill.getId(), booker.getId(), now.plusDays(5));
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BookingResponseDto> bookings = bookingService.getByOwner(owner.getId(), "ALL", 0, 2);
+
+        assertEquals(2, bookings.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void getByBooker_withCursor_walksHistoryWithoutGapsOrDuplicates() {
+        UserDto owner = userService.create(UserDto.builder().name("Owner").email("owner@example.com").build());
+        UserDto booker = userService.create(UserDto.builder().name("Booker").email("booker@example.com").build());
+        ItemDto drill = itemService.create(owner.getId(),
+                ItemDto.builder().name("Drill").description("Drill").available(true).build());
+
+        LocalDateTime start = LocalDateTime.now().minusDays(30).withNano(0);
+        saveBooking(drill.getId(), booker.getId(), start);
+        saveBooking(drill.getId(), booker.getId(), start);
+        saveBooking(drill.getId(), booker.getId(), start.plusDays(1));
+        saveBooking(drill.getId(), booker.getId(), start.plusDays(2));
+        saveBooking(drill.getId(), booker.getId(), start.plusDays(3));
+
+        List<BookingResponseDto> expected = bookingService.getByBooker(booker.getId(), "PAST", 0, 10);
+        List<BookingResponseDto> firstPage = bookingService.getByBooker(booker.getId(), "PAST", 0, 2);
+        BookingResponseDto cursor = firstPage.get(firstPage.size() - 1);
+        List<BookingResponseDto> secondPage = bookingService.getByBooker(booker.getId(), "PAST",
+                cursor.getStart(), cursor.getId(), 2);
+        cursor = secondPage.get(secondPage.size() - 1);
+        List<BookingResponseDto> lastPage = bookingService.getByBooker(booker.getId(), "PAST",
+                cursor.getStart(), cursor.getId(), 2);
+
+        assertEquals(5, expected.size());
+        assertEquals(2, secondPage.size());
+        assertEquals(1, lastPage.size());
+        List<Long> walked = new ArrayList<>();
+        firstPage.forEach(b -> walked.add(b.getId()));
+        secondPage.forEach(b -> walked.add(b.getId()));
+        lastPage.forEach(b -> walked.add(b.getId()));
+        assertEquals(5, walked.stream().distinct().count());
+        assertEquals(expected.get(expected.size() - 1).getStart(), lastPage.get(0).getStart());
+    }
+
+    @Test
+    void getByOwner_tiedStartsAcrossPageBoundary_continueFromOffsetPageWithCursor() {
+        UserDto owner = userService.create(UserDto.builder().name("Owner").email("owner@example.com").build());
+        UserDto booker = userService.create(UserDto.builder().name("Booker").email("booker@example.com").build());
+        LocalDateTime start = LocalDateTime.now().plusDays(10).withNano(0);
+        for (String name : List.of("Drill", "Saw", "Hammer")) {
+            ItemDto item = itemService.create(owner.getId(),
+                    ItemDto.builder().name(name).description(name).available(true).build());
+            saveBooking(item.getId(), booker.getId(), start);
+        }
+
+        List<BookingResponseDto> firstPage = bookingService.getByOwner(owner.getId(), "FUTURE", 0, 2);
+        BookingResponseDto cursor = firstPage.get(firstPage.size() - 1);
+        List<BookingResponseDto> rest = bookingService.getByOwner(owner.getId(), "FUTURE",
+                cursor.getStart(), cursor.getId(), 2);
+        List<BookingResponseDto> secondPage = bookingService.getByOwner(owner.getId(), "FUTURE", 2, 2);
+
+        List<Long> walked = new ArrayList<>();
+        firstPage.forEach(b -> walked.add(b.getId()));
+        rest.forEach(b -> walked.add(b.getId()));
+        assertEquals(3, walked.stream().distinct().count());
+        assertEquals(walked.stream().sorted(Comparator.reverseOrder()).toList(), walked);
+        assertEquals(rest.stream().map(BookingResponseDto::getId).toList(),
+                secondPage.stream().map(BookingResponseDto::getId).toList());
+    }
+
+    @Test
+    void getVersionTag_changesOnApproveAndBookerRename() {
+        UserDto owner = userService.create(UserDto.builder().name("Owner").email("owner@example.com").build());
+        UserDto booker = userService.create(UserDto.builder().name("Booker").email("booker@example.com").build());
+        ItemDto drill = itemService.create(owner.getId(),
+                ItemDto.builder().name("Drill").description("Drill").available(true).build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingResponseDto booking = bookingService.create(booker.getId(), BookingDto.builder()
+                .itemId(drill.getId()).start(start).end(start.plusDays(1)).build());
+
+        String initial = bookingService.getVersionTag(booker.getId(), booking.getId());
+        assertEquals(initial, bookingService.getVersionTag(owner.getId(), booking.getId()));
+
+        bookingService.approve(owner.getId(), booking.getId(), true);
+        String afterApprove = bookingService.getVersionTag(booker.getId(), booking.getId());
+        assertNotEquals(initial, afterApprove);
+
+        userService.update(booker.getId(), UserDto.builder().name("Renamed").build());
+        assertNotEquals(afterApprove, bookingService.getVersionTag(booker.getId(), booking.getId()));
+    }
+
+    @Test
+    void approve_secondDecision_isRejectedAndKeepsFirstStatus() {
+        UserDto owner = userService.create(UserDto.builder().name("Owner").email("owner@example.com").build());
+        UserDto booker = userService.create(UserDto.builder().name("Booker").email("booker@example.com").build());
+        ItemDto drill = itemService.create(owner.getId(),
+                ItemDto.builder().name("Drill").description("Drill").available(true).build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingResponseDto booking = bookingService.create(booker.getId(), BookingDto.builder()
+                .itemId(drill.getId()).start(start).end(start.plusDays(1)).build());
+
+        BookingResponseDto approved = bookingService.approve(owner.getId(), booking.getId(), true);
+        assertEquals(BookingStatus.APPROVED, approved.getStatus());
+
+        assertThrows(BadRequestException.class, () -> bookingService.approve(owner.getId(), booking.getId(), false));
+        assertThrows(ForbiddenException.class, () -> bookingService.approve(booker.getId(), booking.getId(), false));
+        Booking stored = bookingRepository.findById(booking.getId()).orElseThrow();
+        assertEquals(BookingStatus.APPROVED, stored.getStatus());
+        assertEquals(1L, stored.getVersion());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void approve_concurrentDecisions_exactlyOneWins() throws Exception {
+        UserDto owner = userService.create(UserDto.builder().name("Owner").email("race-owner@example.com").build());
+        UserDto booker = userService.create(UserDto.builder().name("Booker").email("race-booker@example.com").build());
+        try {
+            ItemDto drill = itemService.create(owner.getId(),
+                    ItemDto.builder().name("Drill").description("Drill").available(true).build());
+            LocalDateTime start = LocalDateTime.now().plusDays(1);
+            Long bookingId = bookingService.create(booker.getId(), BookingDto.builder()
+                    .itemId(drill.getId()).start(start).end(start.plusDays(1)).build()).getId();
+
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            CountDownLatch ready = new CountDownLatch(1);
+            List<Future<BookingStatus>> results = new ArrayList<>();
+            for (boolean decision : new boolean[]{true, false}) {
+                results.add(executor.submit(() -> {
+                    ready.await();
+                    return bookingService.approve(owner.getId(), bookingId, decision).getStatus();
+                }));
+            }
+            ready.countDown();
+
+            List<BookingStatus> winners = new ArrayList<>();
+            int losers = 0;
+            for (Future<BookingStatus> result : results) {
+                try {
+                    winners.add(result.get(10, TimeUnit.SECONDS));
+                } catch (ExecutionException ex) {
+                    assertInstanceOf(BadRequestException.class, ex.getCause());
+                    losers++;
+                }
+            }
+            executor.shutdown();
+
+            assertEquals(1, winners.size());
+            assertEquals(1, losers);
+            assertEquals(winners.get(0), bookingRepository.findById(bookingId).orElseThrow().getStatus());
+        } finally {
+            userService.delete(booker.getId());
+            userService.delete(owner.getId());
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void approveAll_concurrentSameDecisions_eachBookingReportedOnce() throws Exception {
+        UserDto owner = userService.create(UserDto.builder().name("Owner").email("batch-race-owner@example.com").build());
+        UserDto booker = userService.create(UserDto.builder().name("Booker").email("batch-race-booker@example.com").build());
+        try {
+            ItemDto drill = itemService.create(owner.getId(),
+                    ItemDto.builder().name("Drill").description("Drill").available(true).build());
+            LocalDateTime start = LocalDateTime.now().plusDays(1);
+            List<BookingDecisionDto> decisions = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                Long id = bookingService.create(booker.getId(), BookingDto.builder().itemId(drill.getId())
+                        .start(start.plusDays(i * 2L)).end(start.plusDays(i * 2L + 1)).build()).getId();
+                decisions.add(new BookingDecisionDto(id, true));
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            CountDownLatch ready = new CountDownLatch(1);
+            List<Future<List<BookingDecisionResultDto>>> calls = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                calls.add(executor.submit(() -> {
+                    ready.await();
+                    return bookingService.approveAll(owner.getId(), decisions);
+                }));
+            }
+            ready.countDown();
+
+            long successes = 0;
+            long rejected = 0;
+            for (Future<List<BookingDecisionResultDto>> call : calls) {
+                for (BookingDecisionResultDto result : call.get(10, TimeUnit.SECONDS)) {
+                    if (result.getError() == null) {
+                        successes++;
+                    } else {
+                        assertEquals("Only WAITING can be changed", result.getError());
+                        rejected++;
+                    }
+                }
+            }
+            executor.shutdown();
+
+            assertEquals(3, successes);
+            assertEquals(3, rejected);
+        } finally {
+            userService.delete(booker.getId());
+            userService.delete(owner.getId());
+        }
+    }
+
+    @Test
+    void approveAll_decidesWaitingBookingsWithSetBasedUpdates() {
+        UserDto owner = userService.create(UserDto.builder().name("Owner").email("owner@example.com").build());
+        UserDto booker = userService.create(UserDto.builder().name("Booker").email("booker@example.com").build());
+        ItemDto drill = itemService.create(owner.getId(),
+                ItemDto.builder().name("Drill").description("Drill").available(true).build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            ids.add(bookingService.create(booker.getId(), BookingDto.builder().itemId(drill.getId())
+                    .start(start.plusDays(i * 2L)).end(start.plusDays(i * 2L + 1)).build()).getId());
+        }
+        bookingService.approve(owner.getId(), ids.get(3), true);
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BookingDecisionResultDto> results = bookingService.approveAll(owner.getId(), List.of(
+                new BookingDecisionDto(ids.get(0), true),
+                new BookingDecisionDto(ids.get(1), true),
+                new BookingDecisionDto(ids.get(2), false),
+                new BookingDecisionDto(ids.get(3), false)));
+
+        assertEquals(7, statistics.getPrepareStatementCount());
+        assertEquals(BookingStatus.APPROVED, results.get(0).getStatus());
+        assertEquals(BookingStatus.APPROVED, results.get(1).getStatus());
+        assertEquals(BookingStatus.REJECTED, results.get(2).getStatus());
+        assertEquals("Only WAITING can be changed", results.get(3).getError());
+        assertEquals(BookingStatus.REJECTED, bookingRepository.findById(ids.get(2)).orElseThrow().getStatus());
+        assertEquals(BookingStatus.APPROVED, bookingRepository.findById(ids.get(3)).orElseThrow().getStatus());
+    }
+
+    private void saveBooking(Long itemId, Long bookerId, LocalDateTime start) {
+        bookingRepository.save(Booking.builder()
+                .item(itemRepository.getReferenceById(itemId))
+                .booker(userRepository.getReferenceById(bookerId))
+                .ownerId(itemRepository.findById(itemId).orElseThrow().getOwner().getId())
+                .start(start)
+                .end(start.plusDays(1))
+                .status(BookingStatus.APPROVED)
+                .build());
+    }
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = new DriverManagerDataSource("jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1", "sa", "");
+    private final DataSource replica = new DriverManagerDataSource("jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1", "sa", "");
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void readOnlyTransactions_goToHealthyReplica_writesToPrimary() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(Map.of("replica-0", replica), "SELECT 0");
+
+        assertEquals(List.of("replica-0"), routing.getHealthyReplicas());
+        assertTrue(url(routing).contains("routing_primary"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertTrue(url(routing).contains("routing_replica"));
+    }
+
+    @Test
+    void laggingReplica_fallsBackToPrimary() throws SQLException {
+        ReplicaRoutingDataSource routing = routing(Map.of("replica-0", replica), "SELECT 60");
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertTrue(routing.getHealthyReplicas().isEmpty());
+        assertTrue(url(routing).contains("routing_primary"));
+    }
+
+    @Test
+    void unreachableReplica_isSkipped_andRejoinsAfterRecovery() throws SQLException {
+        DataSource down = new DriverManagerDataSource("jdbc:h2:mem:routing_missing;IFEXISTS=TRUE", "sa", "");
+        ReplicaRoutingDataSource routing = routing(Map.of("replica-0", down, "replica-1", replica), "SELECT 0");
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertEquals(List.of("replica-1"), routing.getHealthyReplicas());
+        for (int i = 0; i < 3; i++) {
+            assertTrue(url(routing).contains("routing_replica"));
+        }
+    }
+
+    private ReplicaRoutingDataSource routing(Map<String, DataSource> replicas, String lagQuery) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replicas, Duration.ofSeconds(5), lagQuery);
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    private String url(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.getMetaData().getURL();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.config;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "db.name=test",
+        "shareit.datasource.replicas[0].url=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+        "shareit.datasource.replicas[0].username=sa",
+        "shareit.datasource.replicas[0].password=",
+        "shareit.datasource.lag-query=SELECT 0"
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ReplicaRoutingIntegrationTest {
+    static final String REPLICA_URL = "jdbc:h2:mem:shareit_replica;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:schema.sql'";
+
+    private final UserService userService;
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final DataSource dataSource;
+
+    @Test
+    void readOnlyServiceCallsReadFromReplica_writesGoToPrimary() {
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        replica.update("insert into users (id, name, email) values (900001, 'Replica', 'replica-only@example.com')");
+        UserDto written = userService.create(UserDto.builder().name("Primary").email("primary-only@example.com").build());
+        try {
+            assertEquals(1, routingDataSource.getHealthyReplicas().size());
+            assertInstanceOf(LazyConnectionDataSourceProxy.class, dataSource);
+
+            assertEquals("Replica", userService.getById(900001L).getName());
+            assertThrows(NotFoundException.class, () -> userService.getById(written.getId()));
+            assertEquals(1, new JdbcTemplate(dataSource).queryForObject(
+                    "select count(*) from users where email = 'primary-only@example.com'", Integer.class));
+        } finally {
+            userService.delete(written.getId());
+            replica.update("delete from users where id = 900001");
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ShardExecutorTest {
+
+    @Test
+    void gather_withoutShards_usesOffsetPageOnCurrentTransaction() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        ShardExecutor executor = new ShardExecutor(new ShardMap(List.of(), Map.of()), transactionManager);
+        List<Pageable> requests = new ArrayList<>();
+
+        List<Integer> result = executor.gather(pageable -> {
+            requests.add(pageable);
+            return List.of(1, 2);
+        }, Comparator.naturalOrder(), 20, 10);
+
+        assertEquals(List.of(1, 2), result);
+        assertEquals(1, requests.size());
+        assertEquals(2, requests.get(0).getPageNumber());
+        assertEquals(10, requests.get(0).getPageSize());
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void gather_withShards_queriesEveryShardAndMergesPage() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any(TransactionDefinition.class))).thenReturn(new SimpleTransactionStatus());
+        ShardExecutor executor = new ShardExecutor(new ShardMap(List.of("shard-0", "shard-1"), Map.of()), transactionManager);
+        Map<String, List<Integer>> data = Map.of("shard-0", List.of(1, 4, 5), "shard-1", List.of(2, 3, 6));
+        List<Pageable> requests = new ArrayList<>();
+
+        List<Integer> result = executor.gather(pageable -> {
+            requests.add(pageable);
+            return data.get(ShardContext.current()).subList(0, Math.min(pageable.getPageSize(), 3));
+        }, Comparator.naturalOrder(), 1, 2);
+
+        assertEquals(List.of(2, 3), result);
+        assertEquals(2, requests.size());
+        assertTrue(requests.stream().allMatch(pageable -> pageable.getPageNumber() == 0 && pageable.getPageSize() == 3));
+        assertNull(ShardContext.current());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void onOwnerShard_bindsShardOfOwner() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any(TransactionDefinition.class))).thenReturn(new SimpleTransactionStatus());
+        ShardExecutor executor = new ShardExecutor(new ShardMap(List.of("shard-0", "shard-1"), Map.of(4L, "shard-1")), transactionManager);
+
+        assertEquals("shard-1", executor.onOwnerShard(3L, ShardContext::current));
+        assertEquals("shard-0", executor.onOwnerShard(2L, ShardContext::current));
+        assertEquals("shard-1", executor.onOwnerShard(4L, ShardContext::current));
+        assertNull(ShardContext.current());
+    }
+
+    @Test
+    void onShardOf_bindsShardOwningIdRange() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any(TransactionDefinition.class))).thenReturn(new SimpleTransactionStatus());
+        ShardExecutor executor = new ShardExecutor(new ShardMap(List.of("shard-0", "shard-1"), Map.of()), transactionManager);
+
+        assertEquals("shard-0", executor.onShardOf(ShardMap.idBase(0) + 1, ShardContext::current));
+        assertEquals("shard-1", executor.onShardOf(ShardMap.idBase(1) + 1, ShardContext::current));
+        assertEquals(ShardMap.GLOBAL, executor.onShardOf(42L, ShardContext::current));
+        assertNull(ShardContext.current());
+    }
+
+    @Test
+    void replicate_withoutShards_doesNothing() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        ShardExecutor executor = new ShardExecutor(new ShardMap(List.of(), Map.of()), transactionManager);
+        List<String> calls = new ArrayList<>();
+
+        executor.replicate(() -> calls.add("replica"));
+        executor.onEachShard(() -> calls.add(String.valueOf(ShardContext.current())));
+
+        assertEquals(List.of("null"), calls);
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    void replicateAndCollect_withShards_visitEveryShard() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any(TransactionDefinition.class))).thenReturn(new SimpleTransactionStatus());
+        ShardExecutor executor = new ShardExecutor(new ShardMap(List.of("shard-0", "shard-1"), Map.of()), transactionManager);
+        List<String> replicated = new ArrayList<>();
+
+        executor.replicate(() -> replicated.add(ShardContext.current()));
+
+        assertEquals(List.of("shard-0", "shard-1"), replicated);
+        assertEquals(List.of("shard-0", "shard-1"), executor.collect(() -> List.of(ShardContext.current())));
+        verify(transactionManager, times(4)).commit(any());
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardingConfigTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withUserConfiguration(ShardingConfig.class);
+
+    @Test
+    void shardsWithReplicas_failsOnStartupWithClearMessage() {
+        runner.withPropertyValues(
+                        "shareit.sharding.shards[0].url=jdbc:h2:mem:guard_shard0",
+                        "shareit.datasource.replicas[0].url=jdbc:h2:mem:guard_replica0")
+                .run(context -> {
+                    Throwable failure = context.getStartupFailure();
+                    assertInstanceOf(IllegalStateException.class, failure);
+                    assertTrue(failure.getMessage().contains("cannot be configured together"));
+                });
+    }
+
+    @Test
+    void shardsWithIndexSearch_failsOnStartup() {
+        runner.withPropertyValues(
+                        "shareit.sharding.shards[0].url=jdbc:h2:mem:guard_shard0",
+                        "shareit.item.search.mode=index")
+                .run(context -> assertInstanceOf(IllegalStateException.class, context.getStartupFailure()));
+    }
+
+    @Test
+    void withoutShards_startsWithSingleShardMap() {
+        runner.withPropertyValues("shareit.datasource.replicas[0].url=jdbc:h2:mem:guard_replica0")
+                .run(context -> {
+                    assertNull(context.getStartupFailure());
+                    assertFalse(context.getBean(ShardMap.class).isSharded());
+                });
+    }
+}
@@ -0,0 +1,128 @@
+package ru.practicum.shareit.config;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(properties = {
+        "db.name=test",
+        "shareit.sharding.shards[0].url=jdbc:h2:mem:shareit_shard0;DB_CLOSE_DELAY=-1",
+        "shareit.sharding.shards[0].username=sa",
+        "shareit.sharding.shards[0].password=",
+        "shareit.sharding.shards[1].url=jdbc:h2:mem:shareit_shard1;DB_CLOSE_DELAY=-1",
+        "shareit.sharding.shards[1].username=sa",
+        "shareit.sharding.shards[1].password="
+})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ShardingIntegrationTest {
+
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final ItemRequestService requestService;
+    private final ShardExecutor shardExecutor;
+    private final ShardMap shardMap;
+    private final DataSource dataSource;
+
+    @Test
+    void itemsAndBookings_liveOnOwnerShardsAndAreReadBack() {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        List<Long> users = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        try {
+            Long booker = createUser(users, "booker");
+            Long firstOwner = createUser(users, "owner");
+            Long secondOwner = createUser(users, "owner");
+            while (shardMap.forOwner(secondOwner).equals(shardMap.forOwner(firstOwner))) {
+                secondOwner = createUser(users, "owner");
+            }
+            Long request = requestService.create(booker, ItemRequestDto.builder().description("Need a drill").build())
+                    .getId();
+            String requestTag = requestService.getVersionTag(booker, request);
+
+            ItemDto drill = itemService.create(firstOwner, ItemDto.builder()
+                    .name("Drill").description("Tool").available(true).requestId(request).build());
+            ItemDto press = itemService.create(secondOwner, ItemDto.builder()
+                    .name("Drill press").description("Tool").available(true).build());
+
+            assertEquals(shardMap.forOwner(firstOwner), shardMap.forId(drill.getId()));
+            assertEquals(shardMap.forOwner(secondOwner), shardMap.forId(press.getId()));
+            assertEquals(0, countItems(jdbc, drill.getId(), press.getId()));
+            assertEquals(1, shardExecutor.onOwnerShard(firstOwner, () -> countItems(jdbc, drill.getId(), press.getId())));
+            assertEquals(1, shardExecutor.onOwnerShard(secondOwner, () -> countItems(jdbc, drill.getId(), press.getId())));
+
+            assertEquals(List.of(drill.getId(), press.getId()), itemService.search("drill", 0, 10).stream()
+                    .map(ItemDto::getId)
+                    .toList());
+            assertEquals(List.of(press.getId()), itemService.search("drill", 1, 1).stream()
+                    .map(ItemDto::getId)
+                    .toList());
+            assertEquals(List.of(drill.getId()), itemService.getByOwner(firstOwner, 0, 10).stream()
+                    .map(ItemResponseDto::getId)
+                    .toList());
+            assertEquals(List.of(drill.getId()), requestService.getById(booker, request).getItems().stream()
+                    .map(ItemDto::getId)
+                    .toList());
+            assertNotEquals(requestTag, requestService.getVersionTag(booker, request));
+
+            BookingResponseDto later = bookingService.create(booker, BookingDto.builder()
+                    .itemId(drill.getId()).start(start.plusDays(1)).end(start.plusDays(1).plusHours(2)).build());
+            BookingResponseDto earlier = bookingService.create(booker, BookingDto.builder()
+                    .itemId(press.getId()).start(start).end(start.plusHours(2)).build());
+            assertEquals(shardMap.forOwner(firstOwner), shardMap.forId(later.getId()));
+            assertEquals(shardMap.forOwner(secondOwner), shardMap.forId(earlier.getId()));
+
+            assertEquals(BookingStatus.APPROVED, bookingService.approve(firstOwner, later.getId(), true).getStatus());
+            assertEquals(BookingStatus.APPROVED, bookingService.getById(booker, later.getId()).getStatus());
+            assertEquals(later.getId(), itemService.getById(firstOwner, drill.getId()).getNextBooking().getId());
+
+            assertEquals(List.of(later.getId(), earlier.getId()), bookingService.getByBooker(booker, "ALL", 0, 10).stream()
+                    .map(BookingResponseDto::getId)
+                    .toList());
+            assertEquals(List.of(earlier.getId()), bookingService.getByBooker(booker, "FUTURE",
+                            later.getStart(), later.getId(), 10).stream()
+                    .map(BookingResponseDto::getId)
+                    .toList());
+            assertEquals(List.of(earlier.getId()), bookingService.getByOwner(secondOwner, "WAITING", 0, 10).stream()
+                    .map(BookingResponseDto::getId)
+                    .toList());
+        } finally {
+            users.forEach(userService::delete);
+        }
+    }
+
+    private Long createUser(List<Long> users, String name) {
+        Long id = userService.create(UserDto.builder()
+                .name(name)
+                .email(name + "-" + System.nanoTime() + "@shard.example.com")
+                .build()).getId();
+        users.add(id);
+        return id;
+    }
+
+    private int countItems(JdbcTemplate jdbc, Long... ids) {
+        return jdbc.queryForObject("select count(*) from items where id in (?, ?)", Integer.class, (Object[]) ids);
+    }
+}
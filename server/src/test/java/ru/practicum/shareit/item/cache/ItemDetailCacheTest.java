@@ -0,0 +1,144 @@
+package ru.practicum.shareit.item.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.event.BookingChangedEvent;
+import ru.practicum.shareit.item.dto.BookingShortDto;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.event.CommentAddedEvent;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+import ru.practicum.shareit.user.event.UserUpdatedEvent;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemDetailCacheTest {
+
+    private ItemDetailCache cache;
+    private AtomicInteger detailLoads;
+    private AtomicInteger bookingLoads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ItemDetailCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(10));
+        detailLoads = new AtomicInteger();
+        bookingLoads = new AtomicInteger();
+    }
+
+    @Test
+    void getDetail_loadsOncePerItem() {
+        ItemDetail first = cache.getDetail(1L, this::loadDetail);
+        ItemDetail second = cache.getDetail(1L, this::loadDetail);
+        cache.getDetail(2L, this::loadDetail);
+
+        assertSame(first, second);
+        assertEquals(2, detailLoads.get());
+    }
+
+    @Test
+    void itemSavedAndCommentAdded_invalidateDetailOnly() {
+        cache.getDetail(1L, this::loadDetail);
+        cache.getBookings(1L, id -> loadBookings(LocalDateTime.now().plusDays(1)));
+
+        cache.onItemSaved(new ItemSavedEvent(ItemDto.builder().id(1L).build()));
+        cache.getDetail(1L, this::loadDetail);
+        cache.onCommentAdded(new CommentAddedEvent(1L, CommentDto.builder().id(5L).build()));
+        cache.getDetail(1L, this::loadDetail);
+        cache.getBookings(1L, id -> loadBookings(LocalDateTime.now().plusDays(1)));
+
+        assertEquals(3, detailLoads.get());
+        assertEquals(1, bookingLoads.get());
+    }
+
+    @Test
+    void bookingChanged_invalidatesBookingWindowOnly() {
+        cache.getDetail(1L, this::loadDetail);
+        cache.getBookings(1L, id -> loadBookings(null));
+
+        cache.onBookingChanged(new BookingChangedEvent(10L, 1L));
+        cache.getBookings(1L, id -> loadBookings(null));
+        cache.getDetail(1L, this::loadDetail);
+
+        assertEquals(2, bookingLoads.get());
+        assertEquals(1, detailLoads.get());
+    }
+
+    @Test
+    void getBookings_reloadsOnceNextBookingHasStarted() throws InterruptedException {
+        ItemBookings first = cache.getBookings(1L, id -> loadBookings(LocalDateTime.now().plusNanos(20_000_000)));
+        ItemBookings beforeStart = cache.getBookings(1L, id -> loadBookings(LocalDateTime.now().plusDays(1)));
+
+        Thread.sleep(30);
+
+        ItemBookings afterStart = cache.getBookings(1L, id -> loadBookings(LocalDateTime.now().plusDays(1)));
+        ItemBookings cached = cache.getBookings(1L, id -> loadBookings(LocalDateTime.now().plusDays(2)));
+
+        assertSame(first, beforeStart);
+        assertNotSame(first, afterStart);
+        assertSame(afterStart, cached);
+        assertEquals(2, bookingLoads.get());
+    }
+
+    @Test
+    void userUpdated_invalidatesDetailsOwnedOrCommentedByUser() {
+        cache.getDetail(1L, id -> detail(id, 7L, 20L));
+        cache.getDetail(2L, id -> detail(id, 8L, 21L));
+        cache.getDetail(3L, id -> detail(id, 9L, 22L));
+
+        cache.onUserUpdated(new UserUpdatedEvent(7L));
+        cache.onUserUpdated(new UserUpdatedEvent(21L));
+
+        assertEquals(2, reloaded(1L, 2L, 3L));
+    }
+
+    @Test
+    void userDeleted_invalidatesDetailsAndBookingWindowsOfBooker() {
+        cache.getDetail(1L, this::loadDetail);
+        cache.getBookings(1L, id -> loadBookings(LocalDateTime.now().plusDays(1)));
+        cache.getBookings(2L, id -> loadBookings(null));
+
+        cache.onUserDeleted(new UserDeletedEvent(4L));
+        cache.getDetail(1L, this::loadDetail);
+        cache.getBookings(1L, id -> loadBookings(null));
+        cache.getBookings(2L, id -> loadBookings(null));
+
+        assertEquals(2, detailLoads.get());
+        assertEquals(3, bookingLoads.get());
+    }
+
+    private int reloaded(Long... itemIds) {
+        AtomicInteger loads = new AtomicInteger();
+        for (Long itemId : itemIds) {
+            cache.getDetail(itemId, id -> {
+                loads.incrementAndGet();
+                return detail(id, null, null);
+            });
+        }
+        return loads.get();
+    }
+
+    private ItemDetail detail(Long itemId, Long ownerId, Long authorId) {
+        return new ItemDetail(ownerId, ItemResponseDto.builder().id(itemId).name("Drill")
+                .comments(authorId == null ? List.of() : List.of(CommentDto.builder().id(itemId).authorId(authorId).build()))
+                .build());
+    }
+
+    private ItemDetail loadDetail(Long itemId) {
+        detailLoads.incrementAndGet();
+        return new ItemDetail(7L, ItemResponseDto.builder().id(itemId).name("Drill").build());
+    }
+
+    private ItemBookings loadBookings(LocalDateTime nextStart) {
+        bookingLoads.incrementAndGet();
+        BookingShortDto next = nextStart == null ? null : new BookingShortDto(3L, 4L);
+        return new ItemBookings(null, next, nextStart);
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.common.HeaderConstants;
@@ -17,8 +18,11 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -156,4 +160,57 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.id").value(1L))
                 .andExpect(jsonPath("$.text").value("Great item!"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getById_MatchingEtag_ReturnsNotModifiedWithoutLoading() throws Exception {
+        when(itemService.getVersionTag(2L, 1L)).thenReturn("item-1-0-0-0-0");
+
+        mockMvc.perform(get("/items/1")
+                        .header(HeaderConstants.X_SHARER_USER_ID, 2L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"item-1-0-0-0-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"item-1-0-0-0-0\""));
+
+        verify(itemService, never()).getById(anyLong(), anyLong());
+    }
+
+    @Test
+    void getById_WithoutVersionTag_LoadsItem() throws Exception {
+        when(itemService.getVersionTag(1L, 1L)).thenReturn(null);
+        when(itemService.getById(1L, 1L)).thenReturn(ItemResponseDto.builder().id(1L).name("Drill").build());
+
+        mockMvc.perform(get("/items/1")
+                        .header(HeaderConstants.X_SHARER_USER_ID, 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"item-1-0-0-0-0\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Drill"));
+    }
+
+    @Test
+    void createAll_ReturnsCreatedItems() throws Exception {
+        List<ItemDto> items = List.of(ItemDto.builder().name("Drill").description("Drill").available(true).build());
+        when(itemService.createAll(eq(1L), anyList()))
+                .thenReturn(List.of(ItemDto.builder().id(5L).name("Drill").description("Drill").available(true).build()));
+
+        mockMvc.perform(post("/items/batch")
+                        .header(HeaderConstants.X_SHARER_USER_ID, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(items)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(5L));
+    }
+
+    @Test
+    void getComments_PassesCursorToService() throws Exception {
+        LocalDateTime before = LocalDateTime.of(2025, 3, 1, 12, 0);
+        when(itemService.getComments(1L, before, 7L, 5))
+                .thenReturn(List.of(CommentDto.builder().id(6L).text("Nice").build()));
+
+        mockMvc.perform(get("/items/1/comments")
+                        .param("before", "2025-03-01T12:00:00")
+                        .param("beforeId", "7")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(6L));
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.config.ShardExecutor;
+import ru.practicum.shareit.config.ShardMap;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseItemSearchEngineTest {
+
+    @Mock
+    private ItemRepository itemRepo;
+    @Mock
+    private ItemMapper itemMapper;
+    @Spy
+    private ShardExecutor shardExecutor = new ShardExecutor(new ShardMap(List.of(), Map.of()), null);
+
+    @InjectMocks
+    private DatabaseItemSearchEngine engine;
+
+    @Test
+    void search_convertsOffsetToPage_andMapsItems() {
+        Item item = Item.builder().id(1L).name("Drill").build();
+        ItemDto dto = ItemDto.builder().id(1L).name("Drill").build();
+        when(itemRepo.search(eq("drill"), any(Pageable.class))).thenReturn(List.of(item));
+        when(itemMapper.toDto(item)).thenReturn(dto);
+
+        List<ItemDto> result = engine.search("drill", 20, 10);
+
+        assertEquals(List.of(dto), result);
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(itemRepo).search(eq("drill"), captor.capture());
+        assertEquals(2, captor.getValue().getPageNumber());
+        assertEquals(10, captor.getValue().getPageSize());
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryItemSearchEngineTest {
+
+    @Mock
+    private ItemRepository itemRepo;
+    @Mock
+    private ItemMapper itemMapper;
+
+    private InMemoryItemSearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new InMemoryItemSearchEngine(itemRepo, itemMapper);
+    }
+
+    @Test
+    void rebuild_indexesAllItemsFromRepository() {
+        Item drill = Item.builder().id(1L).build();
+        Item saw = Item.builder().id(2L).build();
+        when(itemRepo.findAll()).thenReturn(List.of(drill, saw));
+        when(itemMapper.toDto(drill)).thenReturn(item(1L, "Drill", "Cordless", true));
+        when(itemMapper.toDto(saw)).thenReturn(item(2L, "Saw", "Circular", true));
+
+        engine.rebuild();
+
+        assertEquals(List.of(1L), ids(engine.search("drill", 0, 10)));
+        assertEquals(List.of(2L), ids(engine.search("circ", 0, 10)));
+    }
+
+    @Test
+    void search_matchesSubstringOfNameOrDescription_caseInsensitive() {
+        engine.index(item(1L, "Cordless drill", "18V battery", true));
+        engine.index(item(2L, "Hammer", "Heavy", true));
+        engine.index(item(3L, "Drill bits", "Metal", true));
+
+        assertEquals(List.of(3L, 1L), ids(engine.search("DRI", 0, 10)));
+        assertEquals(List.of(1L, 3L), ids(engine.search("rill", 0, 10)));
+        assertEquals(List.of(1L), ids(engine.search("less dr", 0, 10)));
+        assertEquals(List.of(1L), ids(engine.search("batt", 0, 10)));
+        assertEquals(List.of(2L, 3L), ids(engine.search("m", 0, 10)));
+        assertTrue(engine.search("drill batt", 0, 10).isEmpty());
+        assertTrue(engine.search("  ", 0, 10).isEmpty());
+    }
+
+    @Test
+    void search_ordersByRelevance_thenId_andPages() {
+        engine.index(item(1L, "Hammer", "Goes with a drill", true));
+        engine.index(item(2L, "Cordless drill", "18V", true));
+        engine.index(item(3L, "Drill bits", "Set", true));
+        engine.index(item(4L, "drill", "Impact", true));
+
+        assertEquals(List.of(4L, 3L, 2L, 1L), ids(engine.search("Drill", 0, 10)));
+        assertEquals(List.of(2L, 1L), ids(engine.search("Drill", 2, 2)));
+        assertEquals(List.of(4L, 3L), ids(engine.search("Drill", 1, 2)));
+        assertEquals(List.of(3L), ids(engine.search("Drill", 1, 1)));
+    }
+
+    @Test
+    void search_skipsUnavailableItems() {
+        engine.index(item(1L, "Drill", "Old", false));
+        engine.index(item(2L, "Drill", "New", true));
+
+        assertEquals(List.of(2L), ids(engine.search("drill", 0, 10)));
+    }
+
+    @Test
+    void onItemSaved_replacesPreviousTokensAndAvailability() {
+        engine.index(item(1L, "Drill", "Cordless", true));
+
+        engine.onItemSaved(new ItemSavedEvent(item(1L, "Saw", "Cordless", true)));
+
+        assertTrue(engine.search("drill", 0, 10).isEmpty());
+        assertEquals(List.of(1L), ids(engine.search("saw", 0, 10)));
+        assertEquals(List.of(1L), ids(engine.search("cordless", 0, 10)));
+
+        engine.onItemSaved(new ItemSavedEvent(item(1L, "Saw", "Cordless", false)));
+
+        assertTrue(engine.search("saw", 0, 10).isEmpty());
+    }
+
+    @Test
+    void onUserDeleted_dropsItemsOfThatOwner() {
+        engine.index(ItemDto.builder().id(1L).name("Drill").available(true).ownerId(7L).build());
+        engine.index(ItemDto.builder().id(2L).name("Drill press").available(true).ownerId(8L).build());
+
+        engine.onUserDeleted(new UserDeletedEvent(7L));
+
+        assertEquals(List.of(2L), ids(engine.search("drill", 0, 10)));
+    }
+
+    private static ItemDto item(Long id, String name, String description, boolean available) {
+        return ItemDto.builder().id(id).name(name).description(description).available(available).build();
+    }
+
+    private static List<Long> ids(List<ItemDto> items) {
+        return items.stream().map(ItemDto::getId).toList();
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@Transactional
+@TestPropertySource(properties = "db.name=test")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemSearchModesIntegrationTest {
+
+    private final ItemService itemService;
+    private final UserService userService;
+    private final DatabaseItemSearchEngine databaseEngine;
+    private final ItemRepository itemRepository;
+    private final ItemMapper itemMapper;
+
+    @Test
+    void dbAndIndexModes_returnSameResultsForSameQueries() {
+        Long owner = userService.create(UserDto.builder().name("Owner").email("modes@example.com").build()).getId();
+        Long exact = create(owner, "Quokka", "Plush toy", true);
+        Long prefix = create(owner, "Quokka drill", "Cordless, 18V", true);
+        Long contains = create(owner, "Mini quokka", "Keychain", true);
+        Long described = create(owner, "Hammer", "Quokka-branded handle", true);
+        create(owner, "Quokka lamp", "Broken", false);
+
+        InMemoryItemSearchEngine indexEngine = new InMemoryItemSearchEngine(itemRepository, itemMapper);
+        indexEngine.rebuild();
+
+        Map<String, List<Long>> expected = new LinkedHashMap<>();
+        expected.put("quokka", List.of(exact, prefix, contains, described));
+        expected.put("QUOKKA", List.of(exact, prefix, contains, described));
+        expected.put("uokk", List.of(exact, prefix, contains, described));
+        expected.put("okka dr", List.of(prefix));
+        expected.put("cordless, 18", List.of(prefix));
+        expected.put("quokka-b", List.of(described));
+        expected.put("quokka toy", List.of());
+        expected.put("lamp", List.of());
+
+        expected.forEach((query, ids) -> {
+            assertEquals(ids, ids(databaseEngine.search(query, 0, 10)), "db mode: " + query);
+            assertEquals(ids, ids(indexEngine.search(query, 0, 10)), "index mode: " + query);
+        });
+        for (int from : new int[]{1, 2, 3}) {
+            assertEquals(ids(databaseEngine.search("quokka", from, 2)), ids(indexEngine.search("quokka", from, 2)),
+                    "from " + from);
+        }
+        assertEquals(List.of(contains, described), ids(indexEngine.search("quokka", 2, 2)));
+    }
+
+    private Long create(Long owner, String name, String description, boolean available) {
+        return itemService.create(owner, ItemDto.builder()
+                .name(name).description(description).available(available).build()).getId();
+    }
+
+    private static List<Long> ids(List<ItemDto> items) {
+        return items.stream().map(ItemDto::getId).toList();
+    }
+}
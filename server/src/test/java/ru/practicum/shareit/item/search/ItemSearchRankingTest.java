@@ -0,0 +1,36 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ItemSearchRankingTest {
+
+    @Test
+    void rank_followsRepositoryOrdering() {
+        assertEquals(0, ItemSearchRanking.rank("Drill", "drill"));
+        assertEquals(1, ItemSearchRanking.rank("Drill press", "drill"));
+        assertEquals(2, ItemSearchRanking.rank("Power drill", "drill"));
+        assertEquals(3, ItemSearchRanking.rank("Hammer", "drill"));
+        assertEquals(3, ItemSearchRanking.rank(null, "drill"));
+    }
+
+    @Test
+    void byRelevance_ordersByRankThenId() {
+        List<Long> ordered = Stream.of(
+                        ItemDto.builder().id(1L).name("Hammer").build(),
+                        ItemDto.builder().id(2L).name("Power drill").build(),
+                        ItemDto.builder().id(3L).name("Drill press").build(),
+                        ItemDto.builder().id(4L).name("DRILL").build(),
+                        ItemDto.builder().id(5L).name("Drill bits").build())
+                .sorted(ItemSearchRanking.byRelevance("drill"))
+                .map(ItemDto::getId)
+                .toList();
+
+        assertEquals(List.of(4L, 3L, 5L, 2L, 1L), ordered);
+    }
+}
@@ -8,30 +8,46 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.BookingStatus;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.cache.ItemBookings;
+import ru.practicum.shareit.item.cache.ItemDetail;
+import ru.practicum.shareit.item.cache.ItemDetailCache;
 import ru.practicum.shareit.item.dto.BookingShortDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.event.CommentAddedEvent;
+import ru.practicum.shareit.item.event.ItemSavedEvent;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSummary;
 import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.CommentWindowView;
+import ru.practicum.shareit.item.repository.ItemBatchRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemVersionView;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
+import ru.practicum.shareit.user.cache.UserCache;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -43,8 +59,14 @@ class ItemServiceImplTest {
     @Mock
     private ItemRepository itemRepo;
     @Mock
+    private ItemBatchRepository itemBatchRepo;
+    @Mock
+    private ItemSummaryService itemSummaryService;
+    @Mock
     private UserRepository userRepo;
     @Mock
+    private UserCache userCache;
+    @Mock
     private CommentRepository commentRepo;
     @Mock
     private BookingRepository bookingRepo;
@@ -52,6 +74,12 @@ class ItemServiceImplTest {
     private ItemMapper itemMapper;
     @Mock
     private CommentMapper commentMapper;
+    @Mock
+    private ItemSearchEngine searchEngine;
+    @Mock
+    private ItemDetailCache itemDetailCache;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @InjectMocks
     private ItemServiceImpl itemService;
@@ -64,6 +92,11 @@ class ItemServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(itemDetailCache.getDetail(anyLong(), any()))
+                .thenAnswer(inv -> inv.<Function<Long, ItemDetail>>getArgument(1).apply(inv.getArgument(0)));
+        lenient().when(itemDetailCache.getBookings(anyLong(), any()))
+                .thenAnswer(inv -> inv.<Function<Long, ItemBookings>>getArgument(1).apply(inv.getArgument(0)));
+
         user = User.builder().id(1L).name("John Doe").email("john@example.com").build();
 
         item = Item.builder().id(1L).name("Test Item").description("Test Description").available(true)
@@ -81,7 +114,8 @@ class ItemServiceImplTest {
 
     @Test
     void create_Success() {
-        when(userRepo.findById(1L)).thenReturn(Optional.of(user));
+        when(userCache.exists(1L)).thenReturn(true);
+        when(userRepo.getReferenceById(1L)).thenReturn(user);
         when(itemMapper.toModel(itemDto)).thenReturn(item);
         when(itemRepo.save(any(Item.class))).thenReturn(item);
         when(itemMapper.toDto(item)).thenReturn(itemDto);
@@ -91,12 +125,17 @@ class ItemServiceImplTest {
         assertNotNull(result);
         assertEquals(itemDto.getName(), result.getName());
         verify(itemRepo).save(any(Item.class));
+        verify(itemSummaryService).createFor(item);
+        ArgumentCaptor<ItemSavedEvent> captor = ArgumentCaptor.forClass(ItemSavedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertSame(itemDto, captor.getValue().getItem());
     }
 
     @Test
     void create_UserNotFound_ThrowsNotFoundException() {
-        when(userRepo.findById(1L)).thenReturn(Optional.empty());
+        when(userCache.exists(1L)).thenReturn(false);
         assertThrows(NotFoundException.class, () -> itemService.create(1L, itemDto));
+        verifyNoInteractions(itemRepo);
     }
 
     @Test
@@ -116,6 +155,7 @@ class ItemServiceImplTest {
         Item saved = captor.getValue();
         assertEquals("newName", saved.getName());
         assertEquals("origDesc", saved.getDescription());
+        verify(eventPublisher).publishEvent(any(ItemSavedEvent.class));
     }
 
     @Test
@@ -134,17 +174,37 @@ class ItemServiceImplTest {
     void getById_Success_nonOwner_doesNotQueryBookings() {
         User otherUser = User.builder().id(999L).name("Other").email("o@e").build();
         when(itemRepo.findById(1L)).thenReturn(Optional.of(item));
-        when(commentRepo.findByItem_IdOrderByCreatedDesc(1L)).thenReturn(Collections.emptyList());
+        when(commentRepo.findByItem_IdOrderByCreatedDesc(eq(1L), any(Pageable.class))).thenReturn(Collections.emptyList());
         when(itemMapper.toResponseDto(eq(item), any(), any(), any())).thenReturn(new ItemResponseDto());
 
         ItemResponseDto resp = itemService.getById(otherUser.getId(), 1L);
 
         assertNotNull(resp);
         verify(itemRepo).findById(1L);
-        verify(commentRepo).findByItem_IdOrderByCreatedDesc(1L);
+        verify(commentRepo).findByItem_IdOrderByCreatedDesc(eq(1L), any(Pageable.class));
         verifyNoInteractions(bookingRepo);
     }
 
+    @Test
+    void getById_cachedDetail_skipsRepositories_andHidesBookingsFromNonOwner() {
+        ItemResponseDto cached = new ItemResponseDto(1L, "Test Item", "Test Description", true, null,
+                null, null, List.of(commentDto), 1L);
+        doReturn(new ItemDetail(user.getId(), cached)).when(itemDetailCache).getDetail(eq(1L), any());
+        doReturn(new ItemBookings(new BookingShortDto(5L, 2L), null, null))
+                .when(itemDetailCache).getBookings(eq(1L), any());
+
+        ItemResponseDto forOwner = itemService.getById(user.getId(), 1L);
+        ItemResponseDto forOther = itemService.getById(999L, 1L);
+
+        assertEquals(5L, forOwner.getLastBooking().getId());
+        assertEquals(List.of(commentDto), forOwner.getComments());
+        assertNull(forOther.getLastBooking());
+        assertEquals("Test Item", forOther.getName());
+        assertNull(cached.getLastBooking());
+        verify(itemDetailCache, times(1)).getBookings(eq(1L), any());
+        verifyNoInteractions(itemRepo, commentRepo, bookingRepo);
+    }
+
     @Test
     void getById_ItemNotFound_ThrowsNotFoundException() {
         when(itemRepo.findById(1L)).thenReturn(Optional.empty());
@@ -158,7 +218,7 @@ class ItemServiceImplTest {
                 .build();
 
         when(itemRepo.findById(itemLocal.getId())).thenReturn(Optional.of(itemLocal));
-        when(commentRepo.findByItem_IdOrderByCreatedDesc(itemLocal.getId())).thenReturn(Collections.emptyList());
+        when(commentRepo.findByItem_IdOrderByCreatedDesc(eq(itemLocal.getId()), any(Pageable.class))).thenReturn(Collections.emptyList());
 
         Booking last = Booking.builder().id(201L).start(LocalDateTime.now().minusDays(5)).end(LocalDateTime.now()
                 .minusDays(4)).booker(User.builder().id(2L).build()).status(BookingStatus.APPROVED).build();
@@ -236,7 +296,7 @@ class ItemServiceImplTest {
                 .plusDays(2)).booker(null).status(BookingStatus.APPROVED).build();
 
         when(itemRepo.findById(itemId)).thenReturn(Optional.of(itemLocal));
-        when(commentRepo.findByItem_IdOrderByCreatedDesc(itemId)).thenReturn(List.of());
+        when(commentRepo.findByItem_IdOrderByCreatedDesc(eq(itemId), any(Pageable.class))).thenReturn(List.of());
         when(bookingRepo.findFirstByItem_IdAndStatusAndStartBeforeOrderByStartDesc(eq(itemId),
                 eq(BookingStatus.APPROVED), any())).thenReturn(Optional.of(last));
         when(bookingRepo.findFirstByItem_IdAndStatusAndStartAfterOrderByStartAsc(eq(itemId),
@@ -281,13 +341,11 @@ class ItemServiceImplTest {
         Item item1 = Item.builder().id(101L).name("a").description("d").available(true).owner(User.builder().id(ownerId).build()).build();
         Item item2 = Item.builder().id(102L).name("b").description("d2").available(false).owner(User.builder().id(ownerId).build()).build();
 
-        when(userRepo.findById(ownerId)).thenReturn(Optional.of(User.builder().id(ownerId).build()));
-        when(itemRepo.findAllByOwner_Id(eq(ownerId), any(PageRequest.class))).thenReturn(new PageImpl<>(List.of(item1, item2)));
-        when(bookingRepo.findFirstByItem_IdAndStatusAndStartBeforeOrderByStartDesc(anyLong(),
-                eq(BookingStatus.APPROVED), any())).thenReturn(Optional.empty());
-        when(bookingRepo.findFirstByItem_IdAndStatusAndStartAfterOrderByStartAsc(anyLong(),
-                eq(BookingStatus.APPROVED), any())).thenReturn(Optional.empty());
-        when(commentRepo.findByItem_IdOrderByCreatedDesc(anyLong())).thenReturn(List.of());
+        when(userCache.exists(ownerId)).thenReturn(true);
+        when(itemRepo.findAllByOwner_Id(eq(ownerId), any(PageRequest.class))).thenReturn(new SliceImpl<>(List.of(item1, item2)));
+        when(itemSummaryService.getSummaries(List.of(101L, 102L))).thenReturn(Map.of(
+                101L, ItemSummary.builder().itemId(101L).build(),
+                102L, ItemSummary.builder().itemId(102L).build()));
         Mockito.doAnswer(invocation -> {
             Item i = invocation.getArgument(0);
             ItemResponseDto r = new ItemResponseDto();
@@ -299,47 +357,75 @@ class ItemServiceImplTest {
         var result = itemService.getByOwner(ownerId, 0, 10);
 
         assertEquals(2, result.size());
+        assertEquals(0L, result.get(0).getCommentCount());
         verify(itemRepo).findAllByOwner_Id(eq(ownerId), any(PageRequest.class));
-        verify(itemMapper, times(2)).toResponseDto(any(), any(), any(), any());
+        verify(itemMapper, times(2)).toResponseDto(any(), isNull(), isNull(), eq(List.of()));
+        verifyNoInteractions(bookingRepo, commentRepo);
     }
 
     @Test
-    void getByOwner_lastNextNull_andNonNullHandled() {
+    void getByOwner_readsSummaries_andLoadsCommentsOnlyForCommentedItems() {
         User owner = User.builder().id(5L).name("Owner").email("o@e").build();
-        Item itemLocal = Item.builder().id(50L).name("Hammer").description("H").available(true).owner(owner).build();
+        Item hammer = Item.builder().id(50L).name("Hammer").description("H").available(true).owner(owner).build();
+        Item saw = Item.builder().id(51L).name("Saw").description("S").available(true).owner(owner).build();
+
+        when(userCache.exists(owner.getId())).thenReturn(true);
+        when(itemRepo.findAllByOwner_Id(eq(owner.getId()), any())).thenReturn(new SliceImpl<>(List.of(hammer, saw)));
+        when(itemSummaryService.getSummaries(List.of(50L, 51L))).thenReturn(Map.of(
+                50L, ItemSummary.builder().itemId(50L).lastBookingId(301L).lastBookerId(6L)
+                        .nextBookingId(302L).nextBookerId(6L).commentCount(12).build(),
+                51L, ItemSummary.builder().itemId(51L).nextBookingId(303L).nextBookerId(7L).build()));
+
+        Comment hammerComment = Comment.builder().id(1L).text("good").author(user).item(hammer).build();
+        CommentDto hammerCommentDto = CommentDto.builder().id(1L).itemId(hammer.getId()).text("good").build();
+        when(commentRepo.findWindowByItemIds(List.of(50L), 10)).thenReturn(List.of(commentWindow(1L, hammer.getId())));
+        when(commentRepo.findWithAuthorByIdIn(List.of(1L))).thenReturn(List.of(hammerComment));
+        when(commentMapper.toDto(hammerComment)).thenReturn(hammerCommentDto);
 
-        when(userRepo.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(itemRepo.findAllByOwner_Id(eq(owner.getId()), any())).thenReturn(new PageImpl<>(List.of(itemLocal)));
-        when(commentRepo.findByItem_IdOrderByCreatedDesc(itemLocal.getId())).thenReturn(Collections.emptyList());
+        Mockito.doAnswer(invocation -> {
+            Item i = invocation.getArgument(0);
+            ItemResponseDto r = new ItemResponseDto();
+            r.setId(i.getId());
+            r.setLastBooking(invocation.getArgument(1));
+            r.setNextBooking(invocation.getArgument(2));
+            r.setComments(invocation.getArgument(3));
+            return r;
+        }).when(itemMapper).toResponseDto(any(), any(), any(), any());
 
-        when(bookingRepo.findFirstByItem_IdAndStatusAndStartBeforeOrderByStartDesc(eq(itemLocal.getId()),
-                eq(BookingStatus.APPROVED), any())).thenReturn(Optional.empty());
-        when(bookingRepo.findFirstByItem_IdAndStatusAndStartAfterOrderByStartAsc(eq(itemLocal.getId()),
-                eq(BookingStatus.APPROVED), any())).thenReturn(Optional.empty());
+        List<ItemResponseDto> result = itemService.getByOwner(owner.getId(), 0, 10);
 
-        when(itemMapper.toResponseDto(eq(itemLocal), any(), any(), any())).thenReturn(new ItemResponseDto());
-        List<ItemResponseDto> res1 = itemService.getByOwner(owner.getId(), 0, 10);
-        assertEquals(1, res1.size());
+        assertEquals(2, result.size());
+        ItemResponseDto first = result.get(0);
+        assertEquals(301L, first.getLastBooking().getId());
+        assertEquals(6L, first.getLastBooking().getBookerId());
+        assertEquals(302L, first.getNextBooking().getId());
+        assertEquals(List.of(hammerCommentDto), first.getComments());
+        assertEquals(12L, first.getCommentCount());
+
+        ItemResponseDto second = result.get(1);
+        assertNull(second.getLastBooking());
+        assertEquals(303L, second.getNextBooking().getId());
+        assertEquals(7L, second.getNextBooking().getBookerId());
+        assertTrue(second.getComments().isEmpty());
+        assertEquals(0L, second.getCommentCount());
 
-        Booking last = Booking.builder().id(301L).booker(User.builder().id(6L).build()).start(LocalDateTime.now()
-                .minusDays(2)).end(LocalDateTime.now().minusDays(1)).status(BookingStatus.APPROVED).build();
-        Booking next = Booking.builder().id(302L).booker(User.builder().id(6L).build()).start(LocalDateTime.now()
-                .plusDays(1)).end(LocalDateTime.now().plusDays(2)).status(BookingStatus.APPROVED).build();
+        verifyNoInteractions(bookingRepo);
+        verify(commentRepo, never()).findByItem_IdOrderByCreatedDesc(anyLong(), any());
+    }
 
-        when(bookingRepo.findFirstByItem_IdAndStatusAndStartBeforeOrderByStartDesc(eq(itemLocal.getId()),
-                eq(BookingStatus.APPROVED), any())).thenReturn(Optional.of(last));
-        when(bookingRepo.findFirstByItem_IdAndStatusAndStartAfterOrderByStartAsc(eq(itemLocal.getId()),
-                eq(BookingStatus.APPROVED), any())).thenReturn(Optional.of(next));
+    @Test
+    void getByOwner_noItems_skipsBatchQueries() {
+        when(userCache.exists(1L)).thenReturn(true);
+        when(itemRepo.findAllByOwner_Id(eq(1L), any(PageRequest.class))).thenReturn(new SliceImpl<>(List.of()));
 
-        List<ItemResponseDto> res2 = itemService.getByOwner(owner.getId(), 0, 10);
-        assertEquals(1, res2.size());
-        verify(itemMapper, atLeast(2)).toResponseDto(eq(itemLocal), any(), any(), any());
+        assertTrue(itemService.getByOwner(1L, 0, 10).isEmpty());
+        verifyNoInteractions(bookingRepo, commentRepo);
     }
 
     @Test
     void getByOwner_fromNegative_treatedAsZero_and_InvalidSize_throws() {
-        when(userRepo.findById(1L)).thenReturn(Optional.of(user));
-        when(itemRepo.findAllByOwner_Id(eq(1L), any(PageRequest.class))).thenReturn(new PageImpl<>(List.of()));
+        when(userCache.exists(1L)).thenReturn(true);
+        when(itemRepo.findAllByOwner_Id(eq(1L), any(PageRequest.class))).thenReturn(new SliceImpl<>(List.of()));
 
         itemService.getByOwner(1L, -5, 5);
 
@@ -352,25 +438,25 @@ class ItemServiceImplTest {
         List<ItemDto> r2 = itemService.search("   ", 0, 10);
         assertTrue(r1.isEmpty());
         assertTrue(r2.isEmpty());
-        verifyNoInteractions(itemRepo);
+        verifyNoInteractions(itemRepo, searchEngine);
     }
 
     @Test
     void search_negativeFrom_treatedAsZero_and_sizeZero_throws() {
         assertThrows(BadRequestException.class, () -> itemService.search("x", 0, 0));
-        when(itemRepo.search(eq("x"), any(PageRequest.class))).thenReturn(List.of());
+        when(searchEngine.search("x", 0, 5)).thenReturn(List.of());
         var res = itemService.search("x", -20, 5);
         assertTrue(res.isEmpty());
-        verify(itemRepo).search(eq("x"), any(PageRequest.class));
+        verify(searchEngine).search("x", 0, 5);
     }
 
     @Test
-    void search_Success_mapsToDto() {
-        when(itemRepo.search(eq("test"), any(PageRequest.class))).thenReturn(List.of(item));
-        when(itemMapper.toDto(item)).thenReturn(itemDto);
+    void search_Success_delegatesToSearchEngine() {
+        when(searchEngine.search("test", 0, 10)).thenReturn(List.of(itemDto));
         List<ItemDto> result = itemService.search("test", 0, 10);
         assertNotNull(result);
         assertEquals(1, result.size());
+        verifyNoInteractions(itemRepo);
     }
 
     @Test
@@ -434,6 +520,10 @@ class ItemServiceImplTest {
         assertEquals(999L, result.getId());
         assertEquals("Au", result.getAuthorName());
         verify(commentRepo).save(any());
+        verify(itemSummaryService).recordComment(eq(itemId), any(LocalDateTime.class));
+        ArgumentCaptor<CommentAddedEvent> eventCaptor = ArgumentCaptor.forClass(CommentAddedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        assertEquals(itemId, eventCaptor.getValue().getItemId());
     }
 
     @Test
@@ -474,4 +564,175 @@ class ItemServiceImplTest {
         assertNotNull(resEmpty);
         assertTrue(resEmpty.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getByRequestIds_groupsItemsByRequest() {
+        Item first = Item.builder().id(1L).requestId(10L).build();
+        Item second = Item.builder().id(2L).requestId(10L).build();
+        Item third = Item.builder().id(3L).requestId(11L).build();
+        ItemDto firstDto = ItemDto.builder().id(1L).requestId(10L).build();
+        ItemDto secondDto = ItemDto.builder().id(2L).requestId(10L).build();
+        ItemDto thirdDto = ItemDto.builder().id(3L).requestId(11L).build();
+        when(itemRepo.findByRequestIdIn(List.of(10L, 11L, 12L))).thenReturn(List.of(first, second, third));
+        when(itemMapper.toDto(first)).thenReturn(firstDto);
+        when(itemMapper.toDto(second)).thenReturn(secondDto);
+        when(itemMapper.toDto(third)).thenReturn(thirdDto);
+
+        Map<Long, List<ItemDto>> result = itemService.getByRequestIds(List.of(10L, 11L, 12L));
+
+        assertEquals(List.of(firstDto, secondDto), result.get(10L));
+        assertEquals(List.of(thirdDto), result.get(11L));
+        assertFalse(result.containsKey(12L));
+    }
+
+    @Test
+    void getByRequestIds_emptyInput_returnsEmptyMap_withoutRepoCall() {
+        assertTrue(itemService.getByRequestIds(List.of()).isEmpty());
+        verifyNoInteractions(itemRepo);
+    }
+
+    private static CommentWindowView commentWindow(Long id, Long itemId) {
+        return new CommentWindowView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+        };
+    }
+
+    @Test
+    void setCommentWindow_belowOne_throws() {
+        assertThrows(IllegalArgumentException.class, () -> itemService.setCommentWindow(0));
+        assertThrows(IllegalArgumentException.class, () -> itemService.setCommentWindow(-1));
+    }
+
+    @Test
+    void getById_fullCommentWindow_countsAllComments() {
+        itemService.setCommentWindow(1);
+        when(itemRepo.findById(1L)).thenReturn(Optional.of(item));
+        Comment comment = Comment.builder().id(3L).text("Nice").author(user).item(item).build();
+        when(commentRepo.findByItem_IdOrderByCreatedDesc(1L, PageRequest.of(0, 1))).thenReturn(List.of(comment));
+        when(commentMapper.toDto(comment)).thenReturn(commentDto);
+        when(commentRepo.countByItem_Id(1L)).thenReturn(42L);
+        when(itemMapper.toResponseDto(eq(item), any(), any(), any())).thenReturn(new ItemResponseDto());
+
+        ItemResponseDto response = itemService.getById(999L, 1L);
+
+        assertEquals(42L, response.getCommentCount());
+    }
+
+    @Test
+    void getById_partialCommentWindow_skipsCountQuery() {
+        when(itemRepo.findById(1L)).thenReturn(Optional.of(item));
+        when(commentRepo.findByItem_IdOrderByCreatedDesc(eq(1L), any(Pageable.class))).thenReturn(List.of());
+        when(itemMapper.toResponseDto(eq(item), any(), any(), any())).thenReturn(new ItemResponseDto());
+
+        ItemResponseDto response = itemService.getById(999L, 1L);
+
+        assertEquals(0L, response.getCommentCount());
+        verify(commentRepo, never()).countByItem_Id(anyLong());
+    }
+
+    @Test
+    void getComments_withCursor_usesKeysetQuery() {
+        LocalDateTime before = LocalDateTime.of(2025, 3, 1, 12, 0);
+        Comment comment = Comment.builder().id(3L).text("Nice").author(user).item(item).build();
+        when(itemRepo.existsById(1L)).thenReturn(true);
+        when(commentRepo.findByItem_IdBefore(1L, before, 7L, PageRequest.of(0, 5))).thenReturn(List.of(comment));
+        when(commentMapper.toDto(comment)).thenReturn(commentDto);
+
+        assertEquals(List.of(commentDto), itemService.getComments(1L, before, 7L, 5));
+        verify(commentRepo, never()).findByItem_IdOrderByCreatedDesc(anyLong(), any());
+    }
+
+    @Test
+    void getComments_withoutCursor_returnsNewestPage() {
+        when(itemRepo.existsById(1L)).thenReturn(true);
+        when(commentRepo.findByItem_IdOrderByCreatedDesc(1L, PageRequest.of(0, 5))).thenReturn(List.of());
+
+        assertTrue(itemService.getComments(1L, null, null, 5).isEmpty());
+    }
+
+    @Test
+    void getComments_invalidArguments_Throw() {
+        assertThrows(BadRequestException.class,
+                () -> itemService.getComments(1L, LocalDateTime.now(), null, 5));
+        assertThrows(BadRequestException.class, () -> itemService.getComments(1L, null, null, 0));
+        when(itemRepo.existsById(1L)).thenReturn(false);
+        assertThrows(NotFoundException.class, () -> itemService.getComments(1L, null, null, 5));
+        verifyNoInteractions(commentRepo);
+    }
+
+    @Test
+    void getVersionTag_ForNonOwner_CombinesItemAndCommentVersions() {
+        ItemVersionView view = mock(ItemVersionView.class);
+        when(view.getVersion()).thenReturn(2L);
+        when(view.getOwnerId()).thenReturn(1L);
+        when(view.getCommentCount()).thenReturn(3L);
+        when(view.getLastCommentId()).thenReturn(9L);
+        when(view.getAuthorVersions()).thenReturn(4L);
+        when(itemRepo.findVersionById(5L)).thenReturn(Optional.of(view));
+
+        assertEquals("item-5-2-3-9-4", itemService.getVersionTag(2L, 5L));
+    }
+
+    @Test
+    void getVersionTag_ForOwner_ReturnsNull() {
+        ItemVersionView view = mock(ItemVersionView.class);
+        when(view.getOwnerId()).thenReturn(1L);
+        when(itemRepo.findVersionById(5L)).thenReturn(Optional.of(view));
+
+        assertNull(itemService.getVersionTag(1L, 5L));
+    }
+
+    @Test
+    void getVersionTag_NotFound() {
+        when(itemRepo.findVersionById(5L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> itemService.getVersionTag(1L, 5L));
+    }
+
+    @Test
+    void createAll_InsertsBatchAndPublishesEventPerItem() {
+        List<ItemDto> dtos = List.of(
+                ItemDto.builder().name("Drill").description("Drill").available(true).build(),
+                ItemDto.builder().name("Saw").description("Saw").available(false).requestId(7L).build());
+        when(userCache.exists(1L)).thenReturn(true);
+        when(itemBatchRepo.insertAll(1L, dtos)).thenReturn(List.of(11L, 12L));
+
+        List<ItemDto> result = itemService.createAll(1L, dtos);
+
+        assertEquals(List.of(11L, 12L), result.stream().map(ItemDto::getId).toList());
+        assertEquals("Saw", result.get(1).getName());
+        assertEquals(7L, result.get(1).getRequestId());
+        assertEquals(1L, result.get(1).getOwnerId());
+        verify(eventPublisher, times(2)).publishEvent(any(ItemSavedEvent.class));
+        verifyNoInteractions(itemRepo);
+    }
+
+    @Test
+    void createAll_InvalidItem_ThrowsBadRequestBeforeInsert() {
+        List<ItemDto> dtos = List.of(
+                ItemDto.builder().name("Drill").description("Drill").available(true).build(),
+                ItemDto.builder().name(" ").description("Saw").available(true).build());
+        when(userCache.exists(1L)).thenReturn(true);
+
+        BadRequestException ex = assertThrows(BadRequestException.class, () -> itemService.createAll(1L, dtos));
+
+        assertTrue(ex.getMessage().contains("#1"));
+        verifyNoInteractions(itemBatchRepo);
+    }
+
+    @Test
+    void createAll_EmptyOrUnknownUser_Throws() {
+        assertThrows(BadRequestException.class, () -> itemService.createAll(1L, List.of()));
+        when(userCache.exists(1L)).thenReturn(false);
+        assertThrows(NotFoundException.class, () -> itemService.createAll(1L, List.of(itemDto)));
+        verifyNoInteractions(itemBatchRepo);
+    }
+}
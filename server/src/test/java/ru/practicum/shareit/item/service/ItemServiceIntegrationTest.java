@@ -1,28 +1,48 @@
 package ru.practicum.shareit.item.service;
 
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.summary.ItemSummaryService;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.repository.UserRepository;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
 @Transactional
-@TestPropertySource(properties = "db.name=test")
+@TestPropertySource(properties = {"db.name=test", "spring.jpa.properties.hibernate.generate_statistics=true"})
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
 class ItemServiceIntegrationTest {
 
     private final ItemService itemService;
     private final UserService userService;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final ItemSummaryService itemSummaryService;
+    private final EntityManager entityManager;
 
     @Test
     void getUserItems_ReturnsAllUserItems() {
@@ -51,4 +71,202 @@ class ItemServiceIntegrationTest {
 
         assertEquals(2, items.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getByOwner_fillsLastNextBookingsAndCommentsPerItem() {
+        UserDto owner = userService.create(UserDto.builder().name("Owner").email("owner@example.com").build());
+        UserDto booker = userService.create(UserDto.builder().name("Booker").email("booker@example.com").build());
+
+        ItemDto drill = itemService.create(owner.getId(),
+                ItemDto.builder().name("Drill").description("Drill").available(true).build());
+        ItemDto saw = itemService.create(owner.getId(),
+                ItemDto.builder().name("Saw").description("Saw").available(true).build());
+
+        LocalDateTime now = LocalDateTime.now();
+        Booking older = saveBooking(drill.getId(), booker.getId(), now.minusDays(10), BookingStatus.APPROVED);
+        Booking last = saveBooking(drill.getId(), booker.getId(), now.minusDays(5), BookingStatus.APPROVED);
+        saveBooking(drill.getId(), booker.getId(), now.minusDays(2), BookingStatus.REJECTED);
+        Booking next = saveBooking(drill.getId(), booker.getId(), now.plusDays(2), BookingStatus.APPROVED);
+        saveBooking(drill.getId(), booker.getId(), now.plusDays(5), BookingStatus.APPROVED);
+
+        commentRepository.save(Comment.builder()
+                .text("Works well")
+                .item(itemRepository.getReferenceById(drill.getId()))
+                .author(userRepository.getReferenceById(booker.getId()))
+                .created(now.minusDays(1))
+                .build());
+        itemSummaryService.refresh(List.of(drill.getId(), saw.getId()));
+
+        List<ItemResponseDto> items = itemService.getByOwner(owner.getId(), 0, 10);
+
+        assertEquals(2, items.size());
+        ItemResponseDto drillResponse = items.stream().filter(i -> i.getId().equals(drill.getId())).findFirst().orElseThrow();
+        assertEquals(last.getId(), drillResponse.getLastBooking().getId());
+        assertNotEquals(older.getId(), drillResponse.getLastBooking().getId());
+        assertEquals(booker.getId(), drillResponse.getLastBooking().getBookerId());
+        assertEquals(next.getId(), drillResponse.getNextBooking().getId());
+        assertEquals(1, drillResponse.getComments().size());
+        assertEquals("Booker", drillResponse.getComments().get(0).getAuthorName());
+
+        ItemResponseDto sawResponse = items.stream().filter(i -> i.getId().equals(saw.getId())).findFirst().orElseThrow();
+        assertNull(sawResponse.getLastBooking());
+        assertNull(sawResponse.getNextBooking());
+        assertTrue(sawResponse.getComments().isEmpty());
+    }
+
+    @Test
+    void getById_loadsCommentThreadWithAuthorsInOneQuery() {
+        UserDto owner = userService.create(UserDto.builder().name("Owner").email("owner@example.com").build());
+        ItemDto drill = itemService.create(owner.getId(),
+                ItemDto.builder().name("Drill").description("Drill").available(true).build());
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 3; i++) {
+            UserDto author = userService.create(UserDto.builder().name("Author " + i)
+                    .email("author" + i + "@example.com").build());
+            commentRepository.save(Comment.builder()
+                    .text("Comment " + i)
+                    .item(itemRepository.getReferenceById(drill.getId()))
+                    .author(userRepository.getReferenceById(author.getId()))
+                    .created(now.minusHours(i))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ItemResponseDto response = itemService.getById(owner.getId() + 1000, drill.getId());
+
+        assertEquals(List.of("Author 0", "Author 1", "Author 2"),
+                response.getComments().stream().map(CommentDto::getAuthorName).toList());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void commentWindow_capsThreadsAndKeysetWalksTheRest() {
+        UserDto owner = userService.create(UserDto.builder().name("Owner").email("owner@example.com").build());
+        UserDto author = userService.create(UserDto.builder().name("Author").email("author@example.com").build());
+        ItemDto drill = itemService.create(owner.getId(),
+                ItemDto.builder().name("Drill").description("Drill").available(true).build());
+        LocalDateTime base = LocalDateTime.now().withNano(0);
+        for (int i = 0; i < 13; i++) {
+            commentRepository.save(Comment.builder()
+                    .text("Comment " + i)
+                    .item(itemRepository.getReferenceById(drill.getId()))
+                    .author(userRepository.getReferenceById(author.getId()))
+                    .created(base.minusHours(i / 2))
+                    .build());
+        }
+        itemSummaryService.refresh(List.of(drill.getId()));
+        entityManager.flush();
+        entityManager.clear();
+
+        ItemResponseDto detail = itemService.getById(author.getId(), drill.getId());
+        ItemResponseDto owned = itemService.getByOwner(owner.getId(), 0, 10).get(0);
+
+        assertEquals(10, detail.getComments().size());
+        assertEquals(13L, detail.getCommentCount());
+        assertEquals(10, owned.getComments().size());
+        assertEquals(13L, owned.getCommentCount());
+        assertEquals(detail.getComments().stream().map(CommentDto::getId).toList(),
+                owned.getComments().stream().map(CommentDto::getId).toList());
+
+        List<CommentDto> walked = new ArrayList<>();
+        List<CommentDto> page = itemService.getComments(drill.getId(), null, null, 5);
+        while (!page.isEmpty()) {
+            walked.addAll(page);
+            CommentDto last = page.get(page.size() - 1);
+            page = itemService.getComments(drill.getId(), last.getCreated(), last.getId(), 5);
+        }
+
+        assertEquals(13, walked.size());
+        assertEquals(13, walked.stream().map(CommentDto::getId).distinct().count());
+        assertEquals(detail.getComments().stream().map(CommentDto::getId).toList(),
+                walked.subList(0, 10).stream().map(CommentDto::getId).toList());
+    }
+
+    @Test
+    void search_ordersByRelevance_andSkipsUnavailableItems() {
+        UserDto owner = userService.create(UserDto.builder().name("Owner").email("search@example.com").build());
+
+        ItemDto described = itemService.create(owner.getId(),
+                ItemDto.builder().name("Hammer").description("Fits any drill case").available(true).build());
+        ItemDto contains = itemService.create(owner.getId(),
+                ItemDto.builder().name("Cordless drill").description("18V").available(true).build());
+        ItemDto prefix = itemService.create(owner.getId(),
+                ItemDto.builder().name("Drill bits").description("Set of 10").available(true).build());
+        ItemDto exact = itemService.create(owner.getId(),
+                ItemDto.builder().name("drill").description("Impact").available(true).build());
+        itemService.create(owner.getId(),
+                ItemDto.builder().name("Drill press").description("Broken").available(false).build());
+
+        List<ItemDto> found = itemService.search("DRILL", 0, 10);
+
+        assertEquals(List.of(exact.getId(), prefix.getId(), contains.getId(), described.getId()),
+                found.stream().map(ItemDto::getId).toList());
+        assertEquals(List.of(exact.getId(), prefix.getId()),
+                itemService.search("drill", 0, 2).stream().map(ItemDto::getId).toList());
+    }
+
+    private Booking saveBooking(Long itemId, Long bookerId, LocalDateTime start, BookingStatus status) {
+        return bookingRepository.save(Booking.builder()
+                .item(itemRepository.getReferenceById(itemId))
+                .booker(userRepository.getReferenceById(bookerId))
+                .ownerId(itemRepository.findById(itemId).orElseThrow().getOwner().getId())
+                .start(start)
+                .end(start.plusDays(1))
+                .status(status)
+                .build());
+    }
+
+    @Test
+    void createAll_insertsItemsInChunksWithGeneratedIds() {
+        UserDto owner = userService.create(UserDto.builder().name("Owner").email("owner@example.com").build());
+        List<ItemDto> dtos = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            dtos.add(ItemDto.builder().name("Item " + i).description("Bulk " + i).available(i % 2 == 0).build());
+        }
+
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<ItemDto> created = itemService.createAll(owner.getId(), dtos);
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(1200, created.size());
+        assertEquals(1200, created.stream().map(ItemDto::getId).distinct().count());
+        assertEquals(1200, itemRepository.findAllByOwner_Id(owner.getId()).size());
+        ItemDto last = created.get(1199);
+        assertEquals("Item 1199", itemRepository.findById(last.getId()).orElseThrow().getName());
+        assertTrue(statements <= 1200 / 50 * 2 + 2, "expected batched inserts, got " + statements + " statements");
+    }
+
+    @Test
+    void getVersionTag_changesOnItemUpdateCommentAndAuthorRename() {
+        UserDto owner = userService.create(UserDto.builder().name("Owner").email("owner@example.com").build());
+        UserDto viewer = userService.create(UserDto.builder().name("Viewer").email("viewer@example.com").build());
+        ItemDto drill = itemService.create(owner.getId(),
+                ItemDto.builder().name("Drill").description("Drill").available(true).build());
+
+        String initial = itemService.getVersionTag(viewer.getId(), drill.getId());
+        assertEquals(initial, itemService.getVersionTag(viewer.getId(), drill.getId()));
+        assertNull(itemService.getVersionTag(owner.getId(), drill.getId()));
+
+        itemService.update(owner.getId(), drill.getId(), ItemDto.builder().name("Hammer drill").build());
+        String afterUpdate = itemService.getVersionTag(viewer.getId(), drill.getId());
+        assertNotEquals(initial, afterUpdate);
+
+        commentRepository.save(Comment.builder()
+                .text("Works well")
+                .item(itemRepository.getReferenceById(drill.getId()))
+                .author(userRepository.getReferenceById(viewer.getId()))
+                .created(LocalDateTime.now())
+                .build());
+        String afterComment = itemService.getVersionTag(viewer.getId(), drill.getId());
+        assertNotEquals(afterUpdate, afterComment);
+
+        userService.update(viewer.getId(), UserDto.builder().name("Renamed").build());
+        assertNotEquals(afterComment, itemService.getVersionTag(viewer.getId(), drill.getId()));
+    }
+}
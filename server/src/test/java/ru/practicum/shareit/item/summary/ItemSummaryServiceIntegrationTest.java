@@ -0,0 +1,82 @@
+package ru.practicum.shareit.item.summary;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.ItemSummary;
+import ru.practicum.shareit.item.repository.ItemSummaryRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(properties = "db.name=test")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+class ItemSummaryServiceIntegrationTest {
+
+    private final ItemSummaryService itemSummaryService;
+    private final ItemSummaryRepository itemSummaryRepository;
+    private final ItemService itemService;
+    private final BookingService bookingService;
+    private final UserService userService;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Test
+    void summaryFollowsCommittedBookingsCommentsAndElapsedStarts() {
+        UserDto owner = userService.create(UserDto.builder().name("Owner").email("summary-owner@example.com").build());
+        UserDto booker = userService.create(UserDto.builder().name("Booker").email("summary-booker@example.com").build());
+        try {
+            ItemDto drill = itemService.create(owner.getId(),
+                    ItemDto.builder().name("Drill").description("Drill").available(true).build());
+            assertEquals(0, itemSummaryRepository.findById(drill.getId()).orElseThrow().getCommentCount());
+
+            LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+            Long bookingId = bookingService.create(booker.getId(), BookingDto.builder()
+                    .itemId(drill.getId()).start(start).end(start.plusDays(1)).build()).getId();
+            assertNull(itemSummaryRepository.findById(drill.getId()).orElseThrow().getNextBookingId());
+
+            bookingService.approve(owner.getId(), bookingId, true);
+            ItemSummary approved = itemSummaryRepository.findById(drill.getId()).orElseThrow();
+            assertEquals(bookingId, approved.getNextBookingId());
+            assertEquals(booker.getId(), approved.getNextBookerId());
+            assertEquals(start, approved.getNextStart());
+
+            LocalDateTime past = LocalDateTime.now().minusDays(2);
+            jdbcTemplate.update("update bookings set start_date = ?, end_date = ? where id = ?",
+                    past, past.plusDays(1), bookingId);
+            jdbcTemplate.update("update item_summary set next_start = ? where item_id = ?", past, drill.getId());
+            itemSummaryService.rollStartedBookings();
+            ItemSummary rolled = itemSummaryRepository.findById(drill.getId()).orElseThrow();
+            assertEquals(bookingId, rolled.getLastBookingId());
+            assertNull(rolled.getNextBookingId());
+            assertNull(rolled.getNextStart());
+
+            CommentDto comment = itemService.addComment(booker.getId(), drill.getId(),
+                    CommentDto.builder().text("Works well").build());
+            ItemSummary commented = itemSummaryRepository.findById(drill.getId()).orElseThrow();
+            assertEquals(1, commented.getCommentCount());
+            assertEquals(comment.getCreated().withNano(0), commented.getLatestCommentAt().withNano(0));
+
+            ItemResponseDto listed = itemService.getByOwner(owner.getId(), 0, 10).get(0);
+            assertEquals(bookingId, listed.getLastBooking().getId());
+            assertNull(listed.getNextBooking());
+            assertEquals(1L, listed.getCommentCount());
+            assertEquals("Works well", listed.getComments().get(0).getText());
+        } finally {
+            userService.delete(booker.getId());
+            userService.delete(owner.getId());
+        }
+    }
+}
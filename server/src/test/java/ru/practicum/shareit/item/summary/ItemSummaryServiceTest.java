@@ -0,0 +1,183 @@
+package ru.practicum.shareit.item.summary;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.ItemBookingView;
+import ru.practicum.shareit.config.ShardExecutor;
+import ru.practicum.shareit.config.ShardMap;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemSummary;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.CommentStatsView;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.repository.ItemSummaryRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSummaryServiceTest {
+
+    @Mock
+    private ItemSummaryRepository summaryRepo;
+    @Mock
+    private ItemRepository itemRepo;
+    @Mock
+    private BookingRepository bookingRepo;
+    @Mock
+    private CommentRepository commentRepo;
+
+    private ItemSummaryService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new ItemSummaryService(summaryRepo, itemRepo, bookingRepo, commentRepo,
+                new ShardExecutor(new ShardMap(List.of(), Map.of()), null), 100);
+    }
+
+    @Test
+    void getSummaries_freshRows_areReturnedWithoutRecomputing() {
+        ItemSummary summary = ItemSummary.builder().itemId(1L).nextBookingId(5L)
+                .nextStart(LocalDateTime.now().plusDays(1)).commentCount(3).build();
+        when(summaryRepo.findAllById(List.of(1L))).thenReturn(List.of(summary));
+
+        Map<Long, ItemSummary> result = service.getSummaries(List.of(1L));
+
+        assertSame(summary, result.get(1L));
+        verifyNoInteractions(bookingRepo, commentRepo);
+    }
+
+    @Test
+    void getSummaries_startedNextOrMissingRow_isRecomputedLive() {
+        LocalDateTime past = LocalDateTime.now().minusHours(1);
+        ItemSummary stale = ItemSummary.builder().itemId(1L).nextBookingId(5L).nextStart(past).build();
+        when(summaryRepo.findAllById(List.of(1L, 2L))).thenReturn(List.of(stale));
+        when(bookingRepo.findLastApprovedByItemIds(eq(List.of(1L, 2L)), any()))
+                .thenReturn(List.of(bookingView(5L, 1L, 9L, past)));
+        when(bookingRepo.findNextApprovedByItemIds(eq(List.of(1L, 2L)), any())).thenReturn(List.of());
+        when(commentRepo.findStatsByItemIds(List.of(1L, 2L))).thenReturn(List.of(commentStats(2L, 4L)));
+
+        Map<Long, ItemSummary> result = service.getSummaries(List.of(1L, 2L));
+
+        assertEquals(5L, result.get(1L).getLastBookingId());
+        assertEquals(9L, result.get(1L).getLastBookerId());
+        assertNull(result.get(1L).getNextBookingId());
+        assertEquals(4L, result.get(2L).getCommentCount());
+        assertEquals(5L, stale.getNextBookingId());
+    }
+
+    @Test
+    void refresh_updatesLockedRowsInPlace() {
+        LocalDateTime start = LocalDateTime.now().plusDays(2);
+        ItemSummary locked = ItemSummary.builder().itemId(1L).lastBookingId(3L).build();
+        when(summaryRepo.findAllForUpdate(List.of(1L))).thenReturn(List.of(locked));
+        when(bookingRepo.findLastApprovedByItemIds(eq(List.of(1L)), any())).thenReturn(List.of());
+        when(bookingRepo.findNextApprovedByItemIds(eq(List.of(1L)), any()))
+                .thenReturn(List.of(bookingView(7L, 1L, 8L, start)));
+        when(commentRepo.findStatsByItemIds(List.of(1L))).thenReturn(List.of());
+
+        service.refresh(List.of(1L));
+
+        assertNull(locked.getLastBookingId());
+        assertEquals(7L, locked.getNextBookingId());
+        assertEquals(8L, locked.getNextBookerId());
+        assertEquals(start, locked.getNextStart());
+        verify(summaryRepo, never()).save(any());
+    }
+
+    @Test
+    void rollStartedBookings_refreshesOnlyItemsWhoseNextBookingStarted() {
+        when(summaryRepo.findItemIdsWithNextStartedBefore(any(), eq(PageRequest.of(0, 100)))).thenReturn(List.of());
+
+        service.rollStartedBookings();
+
+        verify(summaryRepo, never()).findAllForUpdate(any());
+    }
+
+    @Test
+    void refresh_recomputesBookingsOfItem() {
+        when(summaryRepo.findAllForUpdate(List.of(1L))).thenReturn(List.of(ItemSummary.builder().itemId(1L).build()));
+
+        service.refresh(List.of(1L));
+
+        verify(bookingRepo).findLastApprovedByItemIds(eq(List.of(1L)), any());
+        verify(bookingRepo).findNextApprovedByItemIds(eq(List.of(1L)), any());
+    }
+
+    @Test
+    void recordComment_incrementsCounterWithoutRecomputing() {
+        LocalDateTime created = LocalDateTime.now();
+        when(summaryRepo.incrementComments(1L, created)).thenReturn(1);
+
+        service.recordComment(1L, created);
+
+        verify(summaryRepo, never()).findAllForUpdate(any());
+        verifyNoInteractions(bookingRepo, commentRepo);
+    }
+
+    @Test
+    void recordComment_missingSummary_recomputesRow() {
+        LocalDateTime created = LocalDateTime.now();
+        when(summaryRepo.incrementComments(1L, created)).thenReturn(0);
+        when(summaryRepo.findAllForUpdate(List.of(1L))).thenReturn(List.of());
+        when(itemRepo.getReferenceById(1L)).thenReturn(Item.builder().id(1L).build());
+
+        service.recordComment(1L, created);
+
+        verify(commentRepo).findStatsByItemIds(List.of(1L));
+        verify(summaryRepo).save(any(ItemSummary.class));
+    }
+
+    private static ItemBookingView bookingView(Long id, Long itemId, Long bookerId, LocalDateTime start) {
+        return new ItemBookingView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public Long getBookerId() {
+                return bookerId;
+            }
+
+            @Override
+            public LocalDateTime getStart() {
+                return start;
+            }
+        };
+    }
+
+    private static CommentStatsView commentStats(Long itemId, Long total) {
+        return new CommentStatsView() {
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public Long getTotal() {
+                return total;
+            }
+
+            @Override
+            public LocalDateTime getLatest() {
+                return LocalDateTime.now();
+            }
+        };
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.common.HeaderConstants;
@@ -16,6 +17,8 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -77,6 +80,24 @@ class ItemRequestControllerTest {
                 .andExpect(jsonPath("$[0].id").value(1L));
     }
 
+    @Test
+    void getByRequester_withPaging_callsPagedService() throws Exception {
+        ItemRequestDto responseDto = ItemRequestDto.builder()
+                .id(2L)
+                .description("Need a saw")
+                .items(Collections.emptyList())
+                .build();
+
+        when(itemRequestService.getByRequester(1L, 10, 5)).thenReturn(List.of(responseDto));
+
+        mockMvc.perform(get("/requests")
+                        .header(HeaderConstants.X_SHARER_USER_ID, 1L)
+                        .param("from", "10")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(2L));
+    }
+
     @Test
     void getAll_Success() throws Exception {
         ItemRequestDto responseDto = ItemRequestDto.builder()
@@ -106,4 +127,16 @@ class ItemRequestControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.id").value(1L));
     }
+
+    @Test
+    void getById_MatchingEtag_ReturnsNotModifiedWithoutLoading() throws Exception {
+        when(itemRequestService.getVersionTag(1L, 1L)).thenReturn("request-1-0-1-3-0");
+
+        mockMvc.perform(get("/requests/1")
+                        .header(HeaderConstants.X_SHARER_USER_ID, 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"request-1-0-1-3-0\""))
+                .andExpect(status().isNotModified());
+
+        verify(itemRequestService, never()).getById(anyLong(), anyLong());
+    }
 }
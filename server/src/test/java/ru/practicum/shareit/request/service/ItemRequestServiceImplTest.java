@@ -3,29 +3,35 @@ package ru.practicum.shareit.request.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.config.ShardExecutor;
+import ru.practicum.shareit.config.ShardMap;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
-import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.request.repository.ItemRequestVersionView;
+import ru.practicum.shareit.user.cache.UserCache;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,7 +41,7 @@ class ItemRequestServiceImplTest {
     private ItemRequestRepository itemRequestRepo;
 
     @Mock
-    private UserRepository userRepo;
+    private UserCache userCache;
 
     @Mock
     private ItemService itemService;
@@ -43,21 +49,17 @@ class ItemRequestServiceImplTest {
     @Mock
     private ItemRequestMapper itemRequestMapper;
 
+    @Spy
+    private ShardExecutor shardExecutor = new ShardExecutor(new ShardMap(List.of(), Map.of()), null);
+
     @InjectMocks
     private ItemRequestServiceImpl itemRequestService;
 
-    private User user;
     private ItemRequest itemRequest;
     private ItemRequestDto itemRequestDto;
 
     @BeforeEach
     void setUp() {
-        user = User.builder()
-                .id(1L)
-                .name("John Doe")
-                .email("john@example.com")
-                .build();
-
         itemRequest = ItemRequest.builder()
                 .id(1L)
                 .description("Need a drill")
@@ -80,34 +82,34 @@ class ItemRequestServiceImplTest {
                 .description(itemRequestDto.getDescription())
                 .build();
 
-        when(userRepo.findById(1L)).thenReturn(Optional.of(user));
+        when(userCache.exists(1L)).thenReturn(true);
         when(itemRequestMapper.toModel(eq(incomingDto))).thenReturn(ItemRequest.builder().description(incomingDto.getDescription()).build());
-        when(itemRequestRepo.save(any(ItemRequest.class))).thenReturn(itemRequest);
+        when(itemRequestRepo.saveAndFlush(any(ItemRequest.class))).thenReturn(itemRequest);
         when(itemRequestMapper.toDto(itemRequest)).thenReturn(itemRequestDto);
 
         ItemRequestDto result = itemRequestService.create(1L, incomingDto);
 
         assertNotNull(result);
         assertEquals(itemRequestDto.getDescription(), result.getDescription());
-        verify(itemRequestRepo).save(any(ItemRequest.class));
+        verify(itemRequestRepo).saveAndFlush(any(ItemRequest.class));
         verify(itemRequestMapper).toModel(incomingDto);
         verify(itemRequestMapper).toDto(itemRequest);
     }
 
     @Test
     void create_UserNotFound_ThrowsNotFoundException() {
-        when(userRepo.findById(1L)).thenReturn(Optional.empty());
+        when(userCache.exists(1L)).thenReturn(false);
         ItemRequestDto incomingDto = ItemRequestDto.builder().description("Need a drill").build();
         assertThrows(NotFoundException.class, () -> itemRequestService.create(1L, incomingDto));
-        verify(userRepo).findById(1L);
+        verify(userCache).exists(1L);
         verifyNoInteractions(itemRequestRepo, itemRequestMapper, itemService);
     }
 
     @Test
     void getByRequester_Success() {
-        when(userRepo.findById(1L)).thenReturn(Optional.of(user));
+        when(userCache.exists(1L)).thenReturn(true);
         when(itemRequestRepo.findByRequesterIdOrderByCreatedDesc(1L)).thenReturn(List.of(itemRequest));
-        when(itemService.getByRequestId(1L)).thenReturn(Collections.emptyList());
+        when(itemService.getByRequestIds(List.of(1L))).thenReturn(Map.of());
         when(itemRequestMapper.toDto(itemRequest)).thenReturn(itemRequestDto);
 
         List<ItemRequestDto> result = itemRequestService.getByRequester(1L);
@@ -115,28 +117,86 @@ class ItemRequestServiceImplTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(itemRequestDto.getId(), result.get(0).getId());
+        assertTrue(result.get(0).getItems().isEmpty());
 
-        verify(userRepo).findById(1L);
+        verify(userCache).exists(1L);
         verify(itemRequestRepo).findByRequesterIdOrderByCreatedDesc(1L);
         verify(itemRequestMapper).toDto(itemRequest);
-        verify(itemService).getByRequestId(1L);
+        verify(itemService).getByRequestIds(List.of(1L));
+        verify(itemService, never()).getByRequestId(anyLong());
+    }
+
+    @Test
+    void getByRequester_groupsItemsPerRequest_withSingleItemLookup() {
+        ItemRequest second = ItemRequest.builder().id(2L).description("Need a saw").requesterId(1L)
+                .created(LocalDateTime.now().minusDays(1)).build();
+        ItemRequestDto secondDto = ItemRequestDto.builder().id(2L).description("Need a saw").build();
+        ItemDto saw = ItemDto.builder().id(20L).name("Saw").requestId(2L).build();
+
+        when(userCache.exists(1L)).thenReturn(true);
+        when(itemRequestRepo.findByRequesterIdOrderByCreatedDesc(1L)).thenReturn(List.of(itemRequest, second));
+        when(itemService.getByRequestIds(List.of(1L, 2L))).thenReturn(Map.of(2L, List.of(saw)));
+        when(itemRequestMapper.toDto(itemRequest)).thenReturn(itemRequestDto);
+        when(itemRequestMapper.toDto(second)).thenReturn(secondDto);
+
+        List<ItemRequestDto> result = itemRequestService.getByRequester(1L);
+
+        assertEquals(2, result.size());
+        assertTrue(result.get(0).getItems().isEmpty());
+        assertEquals(List.of(saw), result.get(1).getItems());
+        verify(itemService).getByRequestIds(anyCollection());
+        verifyNoMoreInteractions(itemService);
+    }
+
+    @Test
+    void getByRequester_paged_usesPageableQuery() {
+        when(userCache.exists(1L)).thenReturn(true);
+        when(itemRequestRepo.findByRequesterIdOrderByCreatedDesc(eq(1L), any(Pageable.class)))
+                .thenReturn(List.of(itemRequest));
+        when(itemService.getByRequestIds(List.of(1L))).thenReturn(Map.of());
+        when(itemRequestMapper.toDto(itemRequest)).thenReturn(itemRequestDto);
+
+        List<ItemRequestDto> result = itemRequestService.getByRequester(1L, 20, 10);
+
+        assertEquals(1, result.size());
+        ArgumentCaptor<Pageable> captor = ArgumentCaptor.forClass(Pageable.class);
+        verify(itemRequestRepo).findByRequesterIdOrderByCreatedDesc(eq(1L), captor.capture());
+        assertEquals(2, captor.getValue().getPageNumber());
+        assertEquals(10, captor.getValue().getPageSize());
+        verify(itemRequestRepo, never()).findByRequesterIdOrderByCreatedDesc(1L);
+    }
+
+    @Test
+    void getByRequester_paged_emptyPage_skipsItemLookup() {
+        when(userCache.exists(1L)).thenReturn(true);
+        when(itemRequestRepo.findByRequesterIdOrderByCreatedDesc(eq(1L), any(Pageable.class))).thenReturn(List.of());
+
+        assertTrue(itemRequestService.getByRequester(1L, 0, 10).isEmpty());
+        verifyNoInteractions(itemService, itemRequestMapper);
+    }
+
+    @Test
+    void getByRequester_paged_invalidSize_throwsIllegalArgumentException() {
+        when(userCache.exists(1L)).thenReturn(true);
+        assertThrows(IllegalArgumentException.class, () -> itemRequestService.getByRequester(1L, 0, 0));
+        verifyNoInteractions(itemRequestRepo, itemService);
     }
 
     @Test
     void getByRequester_UserNotFound_ThrowsNotFoundException() {
-        when(userRepo.findById(1L)).thenReturn(Optional.empty());
+        when(userCache.exists(1L)).thenReturn(false);
 
         assertThrows(NotFoundException.class, () -> itemRequestService.getByRequester(1L));
-        verify(userRepo).findById(1L);
+        verify(userCache).exists(1L);
         verifyNoInteractions(itemRequestRepo, itemService, itemRequestMapper);
     }
 
     @Test
     void getAll_Success() {
-        Page<ItemRequest> page = new PageImpl<>(List.of(itemRequest));
-        when(userRepo.findById(2L)).thenReturn(Optional.of(user));
+        Slice<ItemRequest> page = new SliceImpl<>(List.of(itemRequest));
+        when(userCache.exists(2L)).thenReturn(true);
         when(itemRequestRepo.findByRequesterIdNot(eq(2L), any(PageRequest.class))).thenReturn(page);
-        when(itemService.getByRequestId(1L)).thenReturn(Collections.emptyList());
+        when(itemService.getByRequestIds(List.of(1L))).thenReturn(Map.of());
         when(itemRequestMapper.toDto(itemRequest)).thenReturn(itemRequestDto);
 
         List<ItemRequestDto> result = itemRequestService.getAll(2L, 0, 10);
@@ -144,23 +204,23 @@ class ItemRequestServiceImplTest {
         assertNotNull(result);
         assertEquals(1, result.size());
 
-        verify(userRepo).findById(2L);
+        verify(userCache).exists(2L);
         verify(itemRequestRepo).findByRequesterIdNot(eq(2L), any(PageRequest.class));
         verify(itemRequestMapper).toDto(itemRequest);
-        verify(itemService).getByRequestId(1L);
+        verify(itemService).getByRequestIds(List.of(1L));
     }
 
     @Test
     void getAll_InvalidSize_ThrowsIllegalArgumentException() {
-        when(userRepo.findById(1L)).thenReturn(Optional.of(user));
+        when(userCache.exists(1L)).thenReturn(true);
         assertThrows(IllegalArgumentException.class, () -> itemRequestService.getAll(1L, 0, 0));
-        verify(userRepo).findById(1L);
+        verify(userCache).exists(1L);
         verifyNoInteractions(itemRequestRepo, itemRequestMapper, itemService);
     }
 
     @Test
     void getById_Success() {
-        when(userRepo.findById(1L)).thenReturn(Optional.of(user));
+        when(userCache.exists(1L)).thenReturn(true);
         when(itemRequestRepo.findById(1L)).thenReturn(Optional.of(itemRequest));
         when(itemService.getByRequestId(1L)).thenReturn(Collections.emptyList());
         when(itemRequestMapper.toDto(itemRequest)).thenReturn(itemRequestDto);
@@ -170,7 +230,7 @@ class ItemRequestServiceImplTest {
         assertNotNull(result);
         assertEquals(itemRequestDto.getId(), result.getId());
 
-        verify(userRepo).findById(1L);
+        verify(userCache).exists(1L);
         verify(itemRequestRepo).findById(1L);
         verify(itemRequestMapper).toDto(itemRequest);
         verify(itemService).getByRequestId(1L);
@@ -178,12 +238,33 @@ class ItemRequestServiceImplTest {
 
     @Test
     void getById_RequestNotFound_ThrowsNotFoundException() {
-        when(userRepo.findById(1L)).thenReturn(Optional.of(user));
+        when(userCache.exists(1L)).thenReturn(true);
         when(itemRequestRepo.findById(1L)).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> itemRequestService.getById(1L, 1L));
-        verify(userRepo).findById(1L);
+        verify(userCache).exists(1L);
         verify(itemRequestRepo).findById(1L);
         verifyNoMoreInteractions(itemRequestMapper, itemService);
     }
+
+    @Test
+    void getVersionTag_CombinesRequestAndItemVersions() {
+        ItemRequestVersionView view = mock(ItemRequestVersionView.class);
+        when(view.getVersion()).thenReturn(0L);
+        when(view.getItemCount()).thenReturn(2L);
+        when(view.getLastItemId()).thenReturn(8L);
+        when(view.getItemVersions()).thenReturn(3L);
+        when(userCache.exists(1L)).thenReturn(true);
+        when(itemRequestRepo.findVersionById(4L)).thenReturn(Optional.of(view));
+
+        assertEquals("request-4-0-2-8-3", itemRequestService.getVersionTag(1L, 4L));
+    }
+
+    @Test
+    void getVersionTag_UnknownUser_ThrowsNotFound() {
+        when(userCache.exists(1L)).thenReturn(false);
+
+        assertThrows(NotFoundException.class, () -> itemRequestService.getVersionTag(1L, 4L));
+        verify(itemRequestRepo, never()).findVersionById(anyLong());
+    }
 }
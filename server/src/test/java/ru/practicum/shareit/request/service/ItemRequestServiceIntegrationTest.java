@@ -5,6 +5,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
@@ -12,6 +14,7 @@ import ru.practicum.shareit.user.service.UserService;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 @SpringBootTest
@@ -25,6 +28,9 @@ class ItemRequestServiceIntegrationTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ItemService itemService;
+
     @Test
     void createAndRetrieveItemRequest() {
         UserDto user = UserDto.builder()
@@ -46,4 +52,19 @@ class ItemRequestServiceIntegrationTest {
         assertEquals(1, ownRequests.size());
         assertEquals(savedRequest.getId(), ownRequests.get(0).getId());
     }
+
+    @Test
+    void getVersionTag_changesWhenItemIsAddedForRequest() {
+        UserDto requester = userService.create(UserDto.builder().name("Requester").email("req@example.com").build());
+        UserDto owner = userService.create(UserDto.builder().name("Owner").email("owner@example.com").build());
+        ItemRequestDto request = itemRequestService.create(requester.getId(),
+                ItemRequestDto.builder().description("Need a drill").build());
+
+        String initial = itemRequestService.getVersionTag(requester.getId(), request.getId());
+
+        itemService.create(owner.getId(), ItemDto.builder()
+                .name("Drill").description("Drill").available(true).requestId(request.getId()).build());
+
+        assertNotEquals(initial, itemRequestService.getVersionTag(requester.getId(), request.getId()));
+    }
 }
@@ -0,0 +1,96 @@
+package ru.practicum.shareit.user.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.user.dto.UserShortDto;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserCacheTest {
+
+    @Mock
+    private UserRepository userRepo;
+
+    private SimpleMeterRegistry meterRegistry;
+    private UserCache userCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userCache = new UserCache(userRepo, meterRegistry, 100, Duration.ofMinutes(5));
+    }
+
+    @Test
+    void find_loadsOnce_thenServesFromCache() {
+        when(userRepo.findById(1L)).thenReturn(Optional.of(User.builder().id(1L).name("John").build()));
+
+        Optional<UserShortDto> first = userCache.find(1L);
+        boolean exists = userCache.exists(1L);
+
+        assertTrue(first.isPresent());
+        assertEquals("John", first.get().getName());
+        assertTrue(exists);
+        verify(userRepo, times(1)).findById(1L);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "users").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "users").tag("result", "miss")
+                .functionCounter().count());
+    }
+
+    @Test
+    void exists_missingUser_isNotCached() {
+        when(userRepo.findById(2L)).thenReturn(Optional.empty());
+
+        assertFalse(userCache.exists(2L));
+        assertFalse(userCache.exists(2L));
+        assertFalse(userCache.exists(null));
+
+        verify(userRepo, times(2)).findById(2L);
+    }
+
+    @Test
+    void evict_outsideTransaction_reloadsOnNextLookup() {
+        when(userRepo.findById(1L))
+                .thenReturn(Optional.of(User.builder().id(1L).name("John").build()))
+                .thenReturn(Optional.of(User.builder().id(1L).name("Jane").build()));
+
+        userCache.find(1L);
+        userCache.evict(1L);
+
+        assertEquals("Jane", userCache.find(1L).orElseThrow().getName());
+    }
+
+    @Test
+    void evict_insideTransaction_invalidatesAgainAfterCommit() {
+        when(userRepo.findById(1L))
+                .thenReturn(Optional.of(User.builder().id(1L).name("John").build()))
+                .thenReturn(Optional.of(User.builder().id(1L).name("Stale").build()))
+                .thenReturn(Optional.of(User.builder().id(1L).name("Jane").build()));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userCache.find(1L);
+            userCache.evict(1L);
+            assertEquals("Stale", userCache.find(1L).orElseThrow().getName());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals("Jane", userCache.find(1L).orElseThrow().getName());
+    }
+}
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.user.dto.UserDto;
@@ -15,8 +16,11 @@ import java.util.List;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -116,4 +120,25 @@ class UserControllerTest {
         mockMvc.perform(delete("/users/1"))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    void getById_SetsVersionEtag() throws Exception {
+        when(userService.getVersionTag(1L)).thenReturn("user-1-2");
+        when(userService.getById(1L)).thenReturn(UserDto.builder().id(1L).name("John").email("j@e.com").build());
+
+        mockMvc.perform(get("/users/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"user-1-2\""))
+                .andExpect(jsonPath("$.id").value(1L));
+    }
+
+    @Test
+    void getById_MatchingEtag_ReturnsNotModifiedWithoutLoading() throws Exception {
+        when(userService.getVersionTag(1L)).thenReturn("user-1-2");
+
+        mockMvc.perform(get("/users/1").header(HttpHeaders.IF_NONE_MATCH, "\"user-1-2\""))
+                .andExpect(status().isNotModified());
+
+        verify(userService, never()).getById(1L);
+    }
 }
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.user.repository;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Tag("benchmark")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class UserIdGenerationBenchmarkTest {
+
+    private static final int ROWS = 10_000;
+    private static final int WARMUP_RUNS = 3;
+    private static final int MEASURED_RUNS = 5;
+
+    @Test
+    void saveAll_pooledSequenceVersusIdentity() {
+        try (SessionFactory factory = new Configuration()
+                .addAnnotatedClass(IdentityUser.class)
+                .addAnnotatedClass(PooledUser.class)
+                .setProperty(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:shareit_id_benchmark;DB_CLOSE_DELAY=-1")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_USER, "sa")
+                .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, "")
+                .setProperty(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .setProperty(AvailableSettings.STATEMENT_BATCH_SIZE, "50")
+                .setProperty(AvailableSettings.ORDER_INSERTS, "true")
+                .buildSessionFactory()) {
+            long identity = medianMillis(factory, "BenchmarkIdentityUser", IdentityUser::new);
+            long pooled = medianMillis(factory, "BenchmarkPooledUser", PooledUser::new);
+
+            System.out.printf("saveAll of %d users, median of %d runs: IDENTITY %d ms, pooled sequence %d ms%n",
+                    ROWS, MEASURED_RUNS, identity, pooled);
+        }
+    }
+
+    private long medianMillis(SessionFactory factory, String entity, IntFunction<Object> newUser) {
+        long[] timings = new long[MEASURED_RUNS];
+        for (int run = 0; run < WARMUP_RUNS + MEASURED_RUNS; run++) {
+            factory.inTransaction(session -> session.createMutationQuery("delete from " + entity)
+                    .executeUpdate());
+            long started = System.nanoTime();
+            factory.inTransaction(session -> {
+                for (int i = 0; i < ROWS; i++) {
+                    session.persist(newUser.apply(i));
+                }
+            });
+            long elapsed = (System.nanoTime() - started) / 1_000_000;
+            if (run >= WARMUP_RUNS) {
+                timings[run - WARMUP_RUNS] = elapsed;
+            }
+            Long saved = factory.fromTransaction(session -> session
+                    .createSelectionQuery("select count(*) from " + entity, Long.class)
+                    .getSingleResult());
+            assertEquals(ROWS, saved);
+        }
+        Arrays.sort(timings);
+        return timings[MEASURED_RUNS / 2];
+    }
+
+    @Entity(name = "BenchmarkIdentityUser")
+    @Table(name = "benchmark_identity_users")
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    static class IdentityUser {
+        @Id
+        @GeneratedValue(strategy = GenerationType.IDENTITY)
+        private Long id;
+        private String name;
+        private String email;
+
+        IdentityUser(int i) {
+            this.name = "User " + i;
+            this.email = "identity-" + i + "@example.com";
+        }
+    }
+
+    @Entity(name = "BenchmarkPooledUser")
+    @Table(name = "benchmark_pooled_users")
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    static class PooledUser {
+        @Id
+        @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "benchmark_pooled_users_seq")
+        @SequenceGenerator(name = "benchmark_pooled_users_seq", sequenceName = "benchmark_pooled_users_seq",
+                allocationSize = 50)
+        private Long id;
+        private String name;
+        private String email;
+
+        PooledUser(int i) {
+            this.name = "User " + i;
+            this.email = "pooled-" + i + "@example.com";
+        }
+    }
+}
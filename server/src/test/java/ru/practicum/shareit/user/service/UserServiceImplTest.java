@@ -3,17 +3,26 @@ package ru.practicum.shareit.user.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import ru.practicum.shareit.config.ShardExecutor;
+import ru.practicum.shareit.config.ShardMap;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.cache.UserCache;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+import ru.practicum.shareit.user.event.UserUpdatedEvent;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -29,6 +38,15 @@ class UserServiceImplTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private ShardExecutor shardExecutor = new ShardExecutor(new ShardMap(List.of(), Map.of()), null);
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -54,7 +72,7 @@ class UserServiceImplTest {
     void create_Success() {
         when(userRepo.findByEmailIgnoreCase(userDto.getEmail())).thenReturn(Optional.empty());
         when(userMapper.toModel(userDto)).thenReturn(user);
-        when(userRepo.save(any(User.class))).thenReturn(user);
+        when(userRepo.saveAndFlush(any(User.class))).thenReturn(user);
         when(userMapper.toDto(user)).thenReturn(userDto);
 
         UserDto result = userService.create(userDto);
@@ -62,7 +80,7 @@ class UserServiceImplTest {
         assertNotNull(result);
         assertEquals(userDto.getName(), result.getName());
         assertEquals(userDto.getEmail(), result.getEmail());
-        verify(userRepo).save(any(User.class));
+        verify(userRepo).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -86,13 +104,15 @@ class UserServiceImplTest {
 
         when(userRepo.findById(1L)).thenReturn(Optional.of(user));
         when(userRepo.findByEmailIgnoreCase(updateDto.getEmail())).thenReturn(Optional.empty());
-        when(userRepo.save(any(User.class))).thenReturn(user);
+        when(userRepo.saveAndFlush(any(User.class))).thenReturn(user);
         when(userMapper.toDto(user)).thenReturn(userDto);
 
         UserDto result = userService.update(1L, updateDto);
 
         assertNotNull(result);
-        verify(userRepo).save(any(User.class));
+        verify(userRepo).saveAndFlush(any(User.class));
+        verify(userCache).evict(1L);
+        verify(eventPublisher).publishEvent(any(UserUpdatedEvent.class));
     }
 
     @Test
@@ -155,6 +175,10 @@ class UserServiceImplTest {
 
         assertDoesNotThrow(() -> userService.delete(1L));
         verify(userRepo).deleteById(1L);
+        verify(userCache).evict(1L);
+        ArgumentCaptor<UserDeletedEvent> captor = ArgumentCaptor.forClass(UserDeletedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+        assertEquals(1L, captor.getValue().getUserId());
     }
 
     @Test
@@ -162,5 +186,20 @@ class UserServiceImplTest {
         when(userRepo.existsById(1L)).thenReturn(false);
 
         assertThrows(NotFoundException.class, () -> userService.delete(1L));
+        verifyNoInteractions(userCache);
+    }
+
+    @Test
+    void getVersionTag_CombinesIdAndVersion() {
+        when(userRepo.findVersionById(1L)).thenReturn(Optional.of(3L));
+
+        assertEquals("user-1-3", userService.getVersionTag(1L));
+    }
+
+    @Test
+    void getVersionTag_NotFound() {
+        when(userRepo.findVersionById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class, () -> userService.getVersionTag(1L));
     }
 }